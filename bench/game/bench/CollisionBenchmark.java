@@ -0,0 +1,84 @@
+package game.bench;
+
+import game.collision.Collision;
+import game.collision.SpatialGrid;
+import game.obj.BulletStore;
+import game.obj.Rocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Grid build plus the bullet-vs-rocket checks GameWorld.checkBullets does every tick, without removals
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmark {
+
+    private static final int WIDTH = 1366;
+    private static final int HEIGHT = 768;
+
+    @Param({"50", "500"})
+    public int rocketCount;
+
+    @Param({"200", "2000"})
+    public int bulletCount;
+
+    private final List<Rocket> rockets = new ArrayList<>();
+    private final BulletStore bullets = new BulletStore();
+    private final SpatialGrid grid = new SpatialGrid(64);
+
+    @Setup
+    public void setUp() {
+        Random ran = new Random(42);
+        for (int i = 0; i < rocketCount; i++) {
+            Rocket rocket = new Rocket();
+            rocket.changeLocation(ran.nextInt(WIDTH), ran.nextInt(HEIGHT));
+            rocket.changeAngle(ran.nextInt(360));
+            rockets.add(rocket);
+        }
+        for (int i = 0; i < bulletCount; i++) {
+            bullets.spawn(ran.nextInt(WIDTH), ran.nextInt(HEIGHT), ran.nextInt(360), i % 10 == 0 ? 20 : 5, 600f);
+        }
+    }
+
+    @Benchmark
+    public int checkBullets() {
+        double r = Rocket.BOUNDING_RADIUS;
+        grid.clear(WIDTH, HEIGHT);
+        for (int i = 0; i < rockets.size(); i++) {
+            Rocket rocket = rockets.get(i);
+            grid.insert(i, rocket.getCenterX() - r, rocket.getCenterY() - r, rocket.getCenterX() + r, rocket.getCenterY() + r);
+        }
+        grid.build();
+        int hits = 0;
+        for (int b = 0; b < bullets.size(); b++) {
+            double x = bullets.getX(b);
+            double y = bullets.getY(b);
+            double size = bullets.getSize(b);
+            int count = grid.query(x, y, x + size, y + size);
+            int[] candidates = grid.getResults();
+            for (int i = 0; i < count; i++) {
+                if (Collision.intersects(rockets.get(candidates[i]).getHull(), bullets.getCenterX(b), bullets.getCenterY(b), size / 2)) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+}
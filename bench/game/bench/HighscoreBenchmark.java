@@ -0,0 +1,62 @@
+package game.bench;
+
+import game.util.HighscoreManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// HighscoreManager.addScore(), ranking the score and appending it to the log.
+// Each trial gets a manager of its own on a temp log. Compactions it starts
+// run in the background like in the game.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class HighscoreBenchmark {
+
+    @Param({"10", "1000"})
+    public int players;
+
+    private File file;
+    private HighscoreManager highscores;
+    private String[] names;
+    private final Random ran = new Random(1);
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("highscores", ".log");
+        file.delete();
+        highscores = new HighscoreManager(file);
+        names = new String[players];
+        for (int i = 0; i < players; i++) {
+            names[i] = "player" + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        highscores.close();
+        file.delete();
+    }
+
+    @Benchmark
+    public void addScore() {
+        highscores.addScore(names[ran.nextInt(players)], ran.nextInt(10_000));
+    }
+}
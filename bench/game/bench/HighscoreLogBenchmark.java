@@ -0,0 +1,66 @@
+package game.bench;
+
+import game.util.HighscoreLog;
+import game.util.Leaderboard;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Opening a log of historical scores and ranking every player in it, what startup pays
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighscoreLogBenchmark {
+
+    @Param({"1000000"})
+    public int records;
+
+    @Param({"10000"})
+    public int players;
+
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("highscores", ".log");
+        file.delete();
+        Random ran = new Random(1);
+        long time = System.currentTimeMillis();
+        try (HighscoreLog log = new HighscoreLog(file)) {
+            for (int i = 0; i < records; i++) {
+                log.append("player" + ran.nextInt(players), ran.nextInt(10_000), time + i);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public Leaderboard load() throws IOException {
+        try (HighscoreLog log = new HighscoreLog(file); HighscoreLog.Cursor cursor = log.read()) {
+            Leaderboard leaderboard = new Leaderboard();
+            leaderboard.load(cursor);
+            return leaderboard;
+        }
+    }
+}
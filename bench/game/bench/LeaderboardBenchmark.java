@@ -0,0 +1,126 @@
+package game.bench;
+
+import game.util.Leaderboard;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Queries and submits on a board of every player, the "mixed" group runs
+// three readers next to one writer to show reads don't wait for submits
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LeaderboardBenchmark {
+
+    @Param({"100000", "10000000"})
+    public int players;
+
+    private Leaderboard leaderboard;
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        names = new String[players];
+        for (int i = 0; i < players; i++) {
+            names[i] = "player" + i;
+        }
+        leaderboard = new Leaderboard();
+        // One record per player with a random score, like a compacted log
+        leaderboard.load(new Leaderboard.Source() {
+            private int i = -1;
+
+            @Override
+            public boolean next() {
+                return ++i < players;
+            }
+
+            @Override
+            public int getScore() {
+                return ThreadLocalRandom.current().nextInt(1_000_000);
+            }
+
+            @Override
+            public long getTime() {
+                return i;
+            }
+
+            @Override
+            public String getName() {
+                return names[i];
+            }
+        });
+    }
+
+    private String randomName() {
+        return names[ThreadLocalRandom.current().nextInt(players)];
+    }
+
+    @Benchmark
+    public int rank() {
+        return leaderboard.getRank(randomName());
+    }
+
+    @Benchmark
+    public double percentile() {
+        return leaderboard.getPercentile(randomName());
+    }
+
+    @Benchmark
+    public int bestScore() {
+        return leaderboard.getBestScore(randomName());
+    }
+
+    @Benchmark
+    public List<Leaderboard.Entry> top10() {
+        return leaderboard.getTop(10);
+    }
+
+    @Benchmark
+    public List<Leaderboard.Entry> page() {
+        return leaderboard.getPage(ThreadLocalRandom.current().nextInt(players), 20);
+    }
+
+    // Always above the player's best so every submit is taken: the path is
+    // copied and the old entry removed. The jump moves them a random way up.
+    private boolean submitImprovement() {
+        String name = randomName();
+        int score = leaderboard.getBestScore(name) + 1 + ThreadLocalRandom.current().nextInt(100_000);
+        return leaderboard.submit(name, score, 0);
+    }
+
+    @Benchmark
+    public boolean submit() {
+        return submitImprovement();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public int mixedRank() {
+        return leaderboard.getRank(randomName());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean mixedSubmit() {
+        return submitImprovement();
+    }
+}
@@ -0,0 +1,94 @@
+package game.bench;
+
+import game.component.WorldSnapshot;
+import game.obj.ExplosionPreset;
+import game.obj.ParticleRenderer;
+import game.obj.ParticleSystem;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Explosion particles: spawning, one simulation step and drawing them offscreen
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ParticleBenchmark {
+
+    private static final int WIDTH = 1366;
+    private static final int HEIGHT = 768;
+
+    @Param({"10", "100", "1000"})
+    public int explosions;
+
+    private final ParticleSystem particles = new ParticleSystem();
+    private final ParticleRenderer renderer = new ParticleRenderer();
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+    private final float[] centers = new float[2000];
+    private BufferedImage image;
+    private Graphics2D g2;
+
+    @Setup
+    public void setUp() {
+        Random ran = new Random(1);
+        for (int i = 0; i < centers.length; i += 2) {
+            centers[i] = ran.nextInt(WIDTH);
+            centers[i + 1] = ran.nextInt(HEIGHT);
+        }
+        spawn();
+        // Age them a little so every alpha level shows up in the draw
+        particles.update(0.2);
+        snapshot.captureParticles(particles);
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB_PRE);
+        g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    private void spawn() {
+        particles.clear();
+        for (int i = 0; i < explosions; i++) {
+            particles.emit(ExplosionPreset.ROCKET_DESTROYED, centers[(i * 2) % centers.length], centers[(i * 2 + 1) % centers.length]);
+        }
+    }
+
+    @Benchmark
+    public ParticleSystem emit() {
+        spawn();
+        return particles;
+    }
+
+    // dt 0 keeps the population steady, the loop still integrates and checks every particle
+    @Benchmark
+    public ParticleSystem update() {
+        particles.update(0);
+        return particles;
+    }
+
+    @Benchmark
+    public BufferedImage draw() {
+        snapshot.drawEntities(g2, renderer);
+        return image;
+    }
+}
@@ -0,0 +1,88 @@
+package game.bench;
+
+import game.obj.Player;
+import game.obj.Rocket;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Player and rocket sprites with HP bars, drawn into an offscreen image
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    private static final int WIDTH = 1366;
+    private static final int HEIGHT = 768;
+
+    @Param({"10", "100", "500"})
+    public int rocketCount;
+
+    // Degrees between pre-rotated frames, 0 rotates every draw
+    @Param({"0", "2"})
+    public int spriteStep;
+
+    private Rocket[] rockets;
+    private Player player;
+    private BufferedImage image;
+    private Graphics2D g2;
+
+    @Setup
+    public void setUp() {
+        Player.prepareSprites(spriteStep);
+        Rocket.prepareSprites(spriteStep);
+        Random ran = new Random(1);
+        rockets = new Rocket[rocketCount];
+        for (int i = 0; i < rocketCount; i++) {
+            rockets[i] = new Rocket();
+            rockets[i].changeLocation(ran.nextInt(WIDTH), ran.nextInt(HEIGHT));
+            rockets[i].changeAngle(ran.nextInt(360));
+            rockets[i].setMaxHP(20);
+            rockets[i].updateHP(i % 20);
+        }
+        player = new Player();
+        player.changeLocation(300, 300);
+        player.changeAngle(30);
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB_PRE);
+        g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage drawRockets() {
+        for (Rocket rocket : rockets) {
+            rocket.draw(g2);
+        }
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage drawPlayer() {
+        player.draw(g2);
+        return image;
+    }
+}
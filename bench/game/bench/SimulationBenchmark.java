@@ -0,0 +1,86 @@
+package game.bench;
+
+import game.engine.GameWorld;
+import game.engine.SoundSink;
+import game.obj.BulletStore;
+import game.obj.Rocket;
+import game.util.DifficultySettings;
+import game.util.EntityArena;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One fixed step of bullet and rocket movement, and of the whole world
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SimulationBenchmark {
+
+    private static final int WIDTH = 1366;
+    private static final int HEIGHT = 768;
+    private static final double DT = 1.0 / 60;
+
+    @Param({"100", "1000", "10000"})
+    public int count;
+
+    private BulletStore bullets;
+    private EntityArena<Rocket> rockets;
+    private GameWorld world;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random ran = new Random(1);
+        bullets = new BulletStore(count);
+        rockets = new EntityArena<>(Rocket::new);
+        for (int i = 0; i < count; i++) {
+            bullets.spawn(ran.nextInt(WIDTH), ran.nextInt(HEIGHT), ran.nextInt(360), i % 10 == 0 ? 20 : 5, 600f);
+            Rocket rocket = rockets.spawn();
+            rocket.changeLocation(ran.nextInt(WIDTH), ran.nextInt(HEIGHT));
+            rocket.changeAngle(ran.nextInt(360));
+        }
+        world = new GameWorld(WIDTH, HEIGHT, DifficultySettings.getDifficultyConfig("Hard"), SoundSink.NONE);
+        world.getKey().setKey_j(true);
+        world.getKey().setKey_left(true);
+    }
+
+    // Bullets that leave the field are only flagged, so the count stays fixed within an iteration
+    @Benchmark
+    public BulletStore bulletUpdate() {
+        bullets.move(DT);
+        bullets.cullOffscreen(WIDTH, HEIGHT);
+        return bullets;
+    }
+
+    @Benchmark
+    public EntityArena<Rocket> rocketUpdate() {
+        for (int i = 0; i < rockets.size(); i++) {
+            rockets.get(i).update(DT);
+        }
+        return rockets;
+    }
+
+    // The real game at its usual size, count doesn't apply
+    @Benchmark
+    public GameWorld worldTick() {
+        if (!world.getPlayer().isAlive()) {
+            world.restart();
+        }
+        world.tick(DT);
+        return world;
+    }
+}
@@ -0,0 +1,130 @@
+package game.bench;
+
+import game.obj.sound.AudioMixer;
+import game.obj.sound.ClipPool;
+import game.obj.sound.NullOutput;
+import game.obj.sound.SoundBank;
+import game.obj.sound.SoundDispatcher;
+
+import java.util.concurrent.TimeUnit;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.LineUnavailableException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of starting a sound effect: the clip pool and the mixer called
+// directly, and what a cue costs the game thread through the dispatcher
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SoundBenchmark {
+
+    // Pools of one clip on the shot sound, needs an audio device
+    @State(Scope.Thread)
+    public static class Clips {
+
+        ClipPool idle;
+        ClipPool busy;
+
+        @Setup
+        public void setUp() throws LineUnavailableException {
+            // Fails just the clip benchmarks on machines without audio, rather than timing the error path
+            Clip probe = AudioSystem.getClip();
+            probe.close();
+            SoundBank bank = SoundBank.getInstance();
+            idle = new ClipPool("shoot", bank.getFormat(SoundBank.SHOOT), bank.getData(SoundBank.SHOOT), 1);
+            busy = new ClipPool("shoot", bank.getFormat(SoundBank.SHOOT), bank.getData(SoundBank.SHOOT), 1);
+            if (idle.getSize() == 0 || busy.getSize() == 0) {
+                throw new IllegalStateException("No clip could be opened");
+            }
+            busy.play();
+        }
+
+        @Setup(Level.Invocation)
+        public void rewind() {
+            idle.stop();
+        }
+    }
+
+    // A mixer that is never started, play() only queues for the next mix
+    @State(Scope.Thread)
+    public static class Mixer {
+
+        AudioMixer mixer;
+        private final byte[] buffer = new byte[AudioMixer.BUFFER_FRAMES * 4];
+
+        @Setup
+        public void setUp() {
+            mixer = new AudioMixer(SoundBank.getInstance(), new NullOutput(false), 4);
+        }
+
+        // Drains the pending counters so they never overflow
+        @Setup(Level.Iteration)
+        public void drain() {
+            mixer.mix(buffer, AudioMixer.BUFFER_FRAMES);
+        }
+    }
+
+    private SoundDispatcher dispatcher;
+
+    @Setup
+    public void setUp() {
+        // No engine behind it, so no audio device is needed
+        dispatcher = new SoundDispatcher((sound, gain) -> {
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    // Pool hit: rewinds and starts an idle clip
+    @Benchmark
+    public void clipStart(Clips clips) {
+        clips.idle.play();
+    }
+
+    // Pool miss: cuts off the playing clip and restarts it
+    @Benchmark
+    public void clipSteal(Clips clips) {
+        clips.busy.play();
+    }
+
+    @Benchmark
+    public void mixerPlay(Mixer mixer) {
+        mixer.mixer.play(SoundBank.SHOOT);
+    }
+
+    // A tick that fires one shot
+    @Benchmark
+    public void shotTick() {
+        dispatcher.soundShoot();
+        dispatcher.endTick();
+    }
+
+    // An ultimate bullet destroying five rockets in one tick
+    @Benchmark
+    public void burstTick() {
+        dispatcher.soundShoot();
+        for (int i = 0; i < 5; i++) {
+            dispatcher.soundHit();
+            dispatcher.soundDestroy();
+        }
+        dispatcher.endTick();
+    }
+}
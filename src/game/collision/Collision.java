@@ -0,0 +1,75 @@
+package game.collision;
+
+/**
+ * Yes/no overlap tests on world-space hulls. Touching edges don't count,
+ * which matches an Area intersection coming out empty. Nothing here allocates.
+ */
+public class Collision {
+
+    // Circle against convex polygon: inside the polygon, or closer than r to one of its edges
+    public static boolean intersects(ConvexHull hull, double cx, double cy, double r) {
+        if (cx + r <= hull.getMinX() || cx - r >= hull.getMaxX() || cy + r <= hull.getMinY() || cy - r >= hull.getMaxY()) {
+            return false;
+        }
+        int n = hull.size();
+        boolean positive = false;
+        boolean negative = false;
+        double closest = Double.MAX_VALUE;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double ax = hull.getX(j);
+            double ay = hull.getY(j);
+            double ex = hull.getX(i) - ax;
+            double ey = hull.getY(i) - ay;
+            double px = cx - ax;
+            double py = cy - ay;
+            double cross = ex * py - ey * px;
+            if (cross > 0) {
+                positive = true;
+            } else if (cross < 0) {
+                negative = true;
+            }
+            double t = (px * ex + py * ey) / (ex * ex + ey * ey);
+            t = t < 0 ? 0 : (t > 1 ? 1 : t);
+            double qx = px - ex * t;
+            double qy = py - ey * t;
+            closest = Math.min(closest, qx * qx + qy * qy);
+        }
+        // The center is inside when it sits on the same side of every edge
+        return !(positive && negative) || closest < r * r;
+    }
+
+    // Separating axis test between two convex polygons
+    public static boolean intersects(ConvexHull a, ConvexHull b) {
+        if (a.getMaxX() <= b.getMinX() || b.getMaxX() <= a.getMinX() || a.getMaxY() <= b.getMinY() || b.getMaxY() <= a.getMinY()) {
+            return false;
+        }
+        return !hasSeparatingEdge(a, b) && !hasSeparatingEdge(b, a);
+    }
+
+    private static boolean hasSeparatingEdge(ConvexHull edges, ConvexHull other) {
+        int n = edges.size();
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            // Edge normal, its direction doesn't matter for the projection overlap
+            double nx = edges.getY(i) - edges.getY(j);
+            double ny = edges.getX(j) - edges.getX(i);
+            double minA = Double.MAX_VALUE;
+            double maxA = -Double.MAX_VALUE;
+            for (int k = 0; k < n; k++) {
+                double p = edges.getX(k) * nx + edges.getY(k) * ny;
+                minA = Math.min(minA, p);
+                maxA = Math.max(maxA, p);
+            }
+            double minB = Double.MAX_VALUE;
+            double maxB = -Double.MAX_VALUE;
+            for (int k = 0; k < other.size(); k++) {
+                double p = other.getX(k) * nx + other.getY(k) * ny;
+                minB = Math.min(minB, p);
+                maxB = Math.max(maxB, p);
+            }
+            if (maxA <= minB || maxB <= minA) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,127 @@
+package game.collision;
+
+import game.obj.Bullet;
+import game.obj.Player;
+import game.obj.Rocket;
+
+import java.awt.geom.Area;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Stress scenario for bullet-vs-rocket collision: 2,000 bullets and 500
+ * rockets on a 1366x768 field, ticked with and without the grid and with
+ * the Area and analytic narrow phases. It also checks that both narrow
+ * phases agree on every broad-phase candidate, including the player hull.
+ * Run with java -Djava.awt.headless=true -cp dist/plane-game.jar game.collision.CollisionStress
+ */
+public class CollisionStress {
+
+    private static final int WIDTH = 1366;
+    private static final int HEIGHT = 768;
+    private static final double DT = 1.0 / 60;
+
+    public static void main(String[] args) {
+        int bulletCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int rocketCount = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 120;
+
+        System.out.println("Bullets: " + bulletCount + ", rockets: " + rocketCount);
+        // Brute force costs seconds per tick at this size, a few ticks are enough to compare
+        run("Brute force", bulletCount, rocketCount, Math.min(ticks, 3), false, false);
+        run("Grid + Area", bulletCount, rocketCount, Math.min(ticks, 30), true, false);
+        run("Grid + SAT", bulletCount, rocketCount, ticks, true, true);
+        verify(bulletCount, rocketCount);
+    }
+
+    private static void run(String name, int bulletCount, int rocketCount, int ticks, boolean useGrid, boolean analytic) {
+        Random ran = new Random(42);
+        List<Rocket> rockets = new ArrayList<>();
+        for (int i = 0; i < rocketCount; i++) {
+            Rocket rocket = new Rocket();
+            rocket.changeLocation(ran.nextInt(WIDTH), ran.nextInt(HEIGHT));
+            rocket.changeAngle(ran.nextInt(360));
+            rockets.add(rocket);
+        }
+        List<Bullet> bullets = new ArrayList<>();
+        for (int i = 0; i < bulletCount; i++) {
+            bullets.add(new Bullet(ran.nextInt(WIDTH), ran.nextInt(HEIGHT), ran.nextInt(360), i % 10 == 0 ? 20 : 5, 600f));
+        }
+
+        SpatialGrid grid = new SpatialGrid(64);
+        long hits = 0;
+        long totalTime = 0;
+        for (int t = 0; t < ticks; t++) {
+            long startTime = System.nanoTime();
+            for (Rocket rocket : rockets) {
+                rocket.update(DT);
+            }
+            if (useGrid) {
+                double r = Rocket.BOUNDING_RADIUS;
+                grid.clear(WIDTH, HEIGHT);
+                for (int i = 0; i < rockets.size(); i++) {
+                    Rocket rocket = rockets.get(i);
+                    grid.insert(i, rocket.getCenterX() - r, rocket.getCenterY() - r, rocket.getCenterX() + r, rocket.getCenterY() + r);
+                }
+                grid.build();
+            }
+            for (Bullet bullet : bullets) {
+                bullet.update(DT);
+                if (useGrid) {
+                    int count = grid.query(bullet.getX(), bullet.getY(), bullet.getX() + bullet.getSize(), bullet.getY() + bullet.getSize());
+                    int[] candidates = grid.getResults();
+                    for (int i = 0; i < count; i++) {
+                        Rocket rocket = rockets.get(candidates[i]);
+                        if (analytic) {
+                            hits += Collision.intersects(rocket.getHull(), bullet.getCenterX(), bullet.getCenterY(), bullet.getSize() / 2) ? 1 : 0;
+                        } else {
+                            hits += intersects(bullet, rocket) ? 1 : 0;
+                        }
+                    }
+                } else {
+                    for (Rocket rocket : rockets) {
+                        hits += intersects(bullet, rocket) ? 1 : 0;
+                    }
+                }
+            }
+            totalTime += System.nanoTime() - startTime;
+        }
+        System.out.printf("%-12s %4d ticks, %9.3f ms/tick, %d hits%n", name, ticks, totalTime / 1e6 / ticks, hits);
+    }
+
+    // Every rocket against random bullets and player placements, both narrow phases must agree
+    private static void verify(int bulletCount, int rocketCount) {
+        Random ran = new Random(7);
+        Player player = new Player();
+        long tests = 0;
+        long mismatches = 0;
+        for (int i = 0; i < rocketCount; i++) {
+            Rocket rocket = new Rocket();
+            rocket.changeLocation(ran.nextInt(200), ran.nextInt(200));
+            rocket.changeAngle(ran.nextInt(360));
+            for (int j = 0; j < bulletCount / 10; j++) {
+                Bullet bullet = new Bullet(ran.nextInt(260) - 60, ran.nextInt(260) - 60, 0, j % 10 == 0 ? 20 : 5, 0);
+                boolean area = intersects(bullet, rocket);
+                boolean sat = Collision.intersects(rocket.getHull(), bullet.getCenterX(), bullet.getCenterY(), bullet.getSize() / 2);
+                mismatches += area != sat ? 1 : 0;
+                tests++;
+            }
+            for (int j = 0; j < 20; j++) {
+                player.changeLocation(ran.nextInt(300) - 80, ran.nextInt(300) - 80);
+                player.changeAngle(ran.nextInt(360));
+                Area area = new Area(player.getShape());
+                area.intersect(rocket.getShape());
+                mismatches += area.isEmpty() == Collision.intersects(player.getHull(), rocket.getHull()) ? 1 : 0;
+                tests++;
+            }
+        }
+        System.out.println("Narrow phase check: " + tests + " tests, " + mismatches + " mismatches");
+    }
+
+    private static boolean intersects(Bullet bullet, Rocket rocket) {
+        Area area = new Area(bullet.getShape());
+        area.intersect(rocket.getShape());
+        return !area.isEmpty();
+    }
+}
@@ -0,0 +1,115 @@
+package game.collision;
+
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+
+/**
+ * A convex polygon in entity space plus its vertices transformed into
+ * world space. The world copy is recomputed in place, so an entity can
+ * refresh its hull once per tick and every test reuses it for free.
+ */
+public class ConvexHull {
+
+    private final double[] localX;
+    private final double[] localY;
+    private final double[] worldX;
+    private final double[] worldY;
+    private final int size;
+    private double minX;
+    private double minY;
+    private double maxX;
+    private double maxY;
+
+    public ConvexHull(double[] localX, double[] localY) {
+        this.size = localX.length;
+        this.localX = localX.clone();
+        this.localY = localY.clone();
+        this.worldX = new double[size];
+        this.worldY = new double[size];
+    }
+
+    // Shares the immutable local outline of a prototype, with its own world vertices
+    public ConvexHull(ConvexHull prototype) {
+        this.size = prototype.size;
+        this.localX = prototype.localX;
+        this.localY = prototype.localY;
+        this.worldX = new double[size];
+        this.worldY = new double[size];
+    }
+
+    // Copy of the polygon outline of a shape, which must be convex and made of straight segments
+    public static ConvexHull fromShape(Shape shape) {
+        double[] xs = new double[8];
+        double[] ys = new double[8];
+        int count = 0;
+        double[] coords = new double[6];
+        for (PathIterator it = shape.getPathIterator(null); !it.isDone(); it.next()) {
+            int type = it.currentSegment(coords);
+            if (type == PathIterator.SEG_MOVETO || type == PathIterator.SEG_LINETO) {
+                if (count == xs.length) {
+                    xs = Arrays.copyOf(xs, count * 2);
+                    ys = Arrays.copyOf(ys, count * 2);
+                }
+                xs[count] = coords[0];
+                ys[count] = coords[1];
+                count++;
+            }
+        }
+        if (count > 1 && xs[0] == xs[count - 1] && ys[0] == ys[count - 1]) {
+            count--;
+        }
+        return new ConvexHull(Arrays.copyOf(xs, count), Arrays.copyOf(ys, count));
+    }
+
+    // Same placement as AffineTransform translate(x, y) then rotate(angle, pivotX, pivotY)
+    public void update(double x, double y, float angle, double pivotX, double pivotY) {
+        double rad = Math.toRadians(angle);
+        double cos = StrictMath.cos(rad);
+        double sin = StrictMath.sin(rad);
+        minX = Double.MAX_VALUE;
+        minY = Double.MAX_VALUE;
+        maxX = -Double.MAX_VALUE;
+        maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            double dx = localX[i] - pivotX;
+            double dy = localY[i] - pivotY;
+            double wx = x + pivotX + dx * cos - dy * sin;
+            double wy = y + pivotY + dx * sin + dy * cos;
+            worldX[i] = wx;
+            worldY[i] = wy;
+            minX = Math.min(minX, wx);
+            minY = Math.min(minY, wy);
+            maxX = Math.max(maxX, wx);
+            maxY = Math.max(maxY, wy);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getX(int i) {
+        return worldX[i];
+    }
+
+    public double getY(int i) {
+        return worldY[i];
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+}
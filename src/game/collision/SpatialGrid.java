@@ -0,0 +1,153 @@
+package game.collision;
+
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+
+/**
+ * Uniform grid broad phase, rebuilt from scratch every tick. Entries are
+ * bucketed with a counting sort into flat int arrays, so building and
+ * querying allocate nothing once the arrays have grown to the working set.
+ * Anything outside the world bounds is clamped into the border cells.
+ */
+public class SpatialGrid {
+
+    private final double cellSize;
+    private int columns;
+    private int rows;
+    private int[] cellStart = new int[0];
+    private int[] cellCount = new int[0];
+    private int[] cellEntries = new int[64];
+
+    //  Entries inserted since the last clear, as inclusive cell ranges
+    private int entryCount;
+    private int[] entryId = new int[64];
+    private int[] entryRange = new int[64 * 4];
+
+    //  Query results, deduplicated with a per-id stamp
+    private int[] results = new int[64];
+    private int[] stamp = new int[64];
+    private int queryStamp;
+
+    public SpatialGrid(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    public void clear(int width, int height) {
+        columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        int cells = columns * rows;
+        if (cellStart.length < cells + 1) {
+            cellStart = new int[cells + 1];
+            cellCount = new int[cells];
+        }
+        entryCount = 0;
+    }
+
+    public void insert(int id, double minX, double minY, double maxX, double maxY) {
+        if (entryCount == entryId.length) {
+            entryId = Arrays.copyOf(entryId, entryCount * 2);
+            entryRange = Arrays.copyOf(entryRange, entryCount * 8);
+        }
+        if (id >= stamp.length) {
+            stamp = Arrays.copyOf(stamp, Math.max(id + 1, stamp.length * 2));
+        }
+        int r = entryCount * 4;
+        entryId[entryCount] = id;
+        entryRange[r] = column(minX);
+        entryRange[r + 1] = row(minY);
+        entryRange[r + 2] = column(maxX);
+        entryRange[r + 3] = row(maxY);
+        entryCount++;
+    }
+
+    public void build() {
+        int cells = columns * rows;
+        Arrays.fill(cellCount, 0, cells, 0);
+        int total = 0;
+        for (int e = 0; e < entryCount; e++) {
+            int r = e * 4;
+            for (int cy = entryRange[r + 1]; cy <= entryRange[r + 3]; cy++) {
+                for (int cx = entryRange[r]; cx <= entryRange[r + 2]; cx++) {
+                    cellCount[cy * columns + cx]++;
+                    total++;
+                }
+            }
+        }
+        if (cellEntries.length < total) {
+            cellEntries = new int[Math.max(total, cellEntries.length * 2)];
+        }
+        int start = 0;
+        for (int c = 0; c < cells; c++) {
+            cellStart[c] = start;
+            start += cellCount[c];
+        }
+        cellStart[cells] = start;
+        // Second pass fills each cell, reusing cellCount as the write cursor
+        Arrays.fill(cellCount, 0, cells, 0);
+        for (int e = 0; e < entryCount; e++) {
+            int r = e * 4;
+            for (int cy = entryRange[r + 1]; cy <= entryRange[r + 3]; cy++) {
+                for (int cx = entryRange[r]; cx <= entryRange[r + 2]; cx++) {
+                    int cell = cy * columns + cx;
+                    cellEntries[cellStart[cell] + cellCount[cell]++] = entryId[e];
+                }
+            }
+        }
+    }
+
+    // Ids whose boxes share a cell with the given box, in ascending order; read them from getResults()
+    public int query(double minX, double minY, double maxX, double maxY) {
+        if (++queryStamp == 0) {
+            Arrays.fill(stamp, 0);
+            queryStamp = 1;
+        }
+        int count = 0;
+        int maxCx = column(maxX);
+        int maxCy = row(maxY);
+        for (int cy = row(minY); cy <= maxCy; cy++) {
+            for (int cx = column(minX); cx <= maxCx; cx++) {
+                int cell = cy * columns + cx;
+                for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+                    int id = cellEntries[i];
+                    if (stamp[id] != queryStamp) {
+                        stamp[id] = queryStamp;
+                        if (count == results.length) {
+                            results = Arrays.copyOf(results, count * 2);
+                        }
+                        results[count++] = id;
+                    }
+                }
+            }
+        }
+        // Keep the narrow phase visiting entities in insertion order, like a plain list scan
+        Arrays.sort(results, 0, count);
+        return count;
+    }
+
+    public int[] getResults() {
+        return results;
+    }
+
+    private int column(double x) {
+        int c = (int) Math.floor(x / cellSize);
+        return c < 0 ? 0 : (c >= columns ? columns - 1 : c);
+    }
+
+    private int row(double y) {
+        int r = (int) Math.floor(y / cellSize);
+        return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+    }
+
+    // Distance from (cx, cy) to the farthest vertex of the shape, for a rotation-proof bounding box
+    public static double boundingRadius(Shape shape, double cx, double cy) {
+        double radius = 0;
+        double[] coords = new double[6];
+        for (PathIterator it = shape.getPathIterator(null); !it.isDone(); it.next()) {
+            if (it.currentSegment(coords) != PathIterator.SEG_CLOSE) {
+                radius = Math.max(radius, Math.hypot(coords[0] - cx, coords[1] - cy));
+            }
+        }
+        return radius;
+    }
+}
@@ -0,0 +1,63 @@
+package game.component;
+
+import game.util.Palette;
+
+import java.awt.Color;
+
+/**
+ * Game background with the ultimate pulse folded in, plus the brightness
+ * overlay, rebuilt only when the brightness setting changes.
+ * <p>
+ * The gold pulse used to be a full-screen alpha fill on top of everything.
+ * Over a flat background it is the same as a different flat color, so every
+ * pulse alpha is pre-blended into its own opaque background fill. The
+ * brightness overlay still has to cover the entities, so it stays a real
+ * fill, but only away from the default brightness.
+ */
+public class Backdrop {
+
+    public static final int MAX_PULSE_ALPHA = 30;
+
+    private int brightness = Integer.MIN_VALUE;
+    private final Color[] fills = new Color[MAX_PULSE_ALPHA + 1];
+    private Color overlay;
+
+    public void update(int brightness) {
+        if (brightness == this.brightness) {
+            return;
+        }
+        this.brightness = brightness;
+        float brightnessRatio = brightness / 100f;
+        int colorValue = Math.max(5, Math.min(50, (int) (30 * brightnessRatio)));
+        Color background = Palette.gray(colorValue);
+
+        overlay = null;
+        if (brightnessRatio < 0.7f) {
+            overlay = Palette.black((int) (255 * (0.7f - brightnessRatio)));
+        } else if (brightnessRatio > 1.0f) {
+            overlay = Palette.white((int) (100 * (brightnessRatio - 1.0f)));
+        }
+        for (int alpha = 0; alpha <= MAX_PULSE_ALPHA; alpha++) {
+            fills[alpha] = over(background, Palette.gold(alpha));
+        }
+    }
+
+    // Background color with the ultimate pulse at the given alpha, 0 when inactive
+    public Color getFill(int pulseAlpha) {
+        return fills[Math.max(0, Math.min(MAX_PULSE_ALPHA, pulseAlpha))];
+    }
+
+    // Brightness overlay to fill after the entities, or null at the default range
+    public Color getOverlay() {
+        return overlay;
+    }
+
+    // Opaque result of drawing src over dst
+    private static Color over(Color dst, Color src) {
+        float a = src.getAlpha() / 255f;
+        return new Color(
+                Math.round(src.getRed() * a + dst.getRed() * (1 - a)),
+                Math.round(src.getGreen() * a + dst.getGreen() * (1 - a)),
+                Math.round(src.getBlue() * a + dst.getBlue() * (1 - a)));
+    }
+}
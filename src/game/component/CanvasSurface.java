@@ -0,0 +1,46 @@
+package game.component;
+
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+// Active rendering: page flipping where the platform offers it, accelerated blitting otherwise
+public class CanvasSurface implements RenderSurface {
+
+    private final Canvas canvas;
+    private BufferStrategy strategy;
+    private Graphics2D g2;
+
+    public CanvasSurface(Canvas canvas) {
+        this.canvas = canvas;
+        canvas.setIgnoreRepaint(true);
+        createStrategy();
+    }
+
+    private void createStrategy() {
+        if (strategy == null && canvas.isDisplayable()) {
+            canvas.createBufferStrategy(2);
+            strategy = canvas.getBufferStrategy();
+        }
+    }
+
+    @Override
+    public Graphics2D beginFrame(int width, int height) {
+        createStrategy();
+        if (strategy == null) {
+            return null;
+        }
+        g2 = (Graphics2D) strategy.getDrawGraphics();
+        return g2;
+    }
+
+    @Override
+    public void show() {
+        g2.dispose();
+        if (!strategy.contentsLost()) {
+            strategy.show();
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+}
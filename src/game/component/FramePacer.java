@@ -0,0 +1,72 @@
+package game.component;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waits out the rest of a frame against an absolute deadline. Most of the
+ * wait is a plain sleep, the last stretch is parked and then spun so frames
+ * land within microseconds instead of Thread.sleep's whole milliseconds.
+ * Running late carries over as debt into the next frame, up to one frame,
+ * after which the schedule is reset instead of bursting to catch up.
+ */
+public class FramePacer {
+
+    // Below this much remaining time sleep() is too coarse to trust
+    private static final long SLEEP_MARGIN = 2_000_000L;
+    private static final long SPIN_MARGIN = 100_000L;
+
+    private final long frameTime;
+    private final FrameStats stats;
+    private long deadline;
+    private long lastFrame;
+
+    public FramePacer(long frameTime) {
+        this.frameTime = frameTime;
+        this.stats = new FrameStats(240);
+    }
+
+    public void sync() {
+        long now = System.nanoTime();
+        if (deadline == 0) {
+            deadline = now + frameTime;
+        } else {
+            waitUntil(deadline);
+            now = System.nanoTime();
+            deadline += frameTime;
+            if (now - deadline > frameTime) {
+                deadline = now + frameTime;
+            }
+        }
+        if (lastFrame != 0) {
+            stats.record(now - lastFrame);
+        }
+        lastFrame = now;
+    }
+
+    public static void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining > SLEEP_MARGIN) {
+            try {
+                Thread.sleep((remaining - SLEEP_MARGIN) / 1_000_000L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_MARGIN) {
+                LockSupport.parkNanos(remaining - SPIN_MARGIN);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public long getFrameTime() {
+        return frameTime;
+    }
+
+    public FrameStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,57 @@
+package game.component;
+
+import java.util.Arrays;
+
+// Rolling window of frame times, summarized every few frames so the HUD can show it cheaply
+public class FrameStats {
+
+    private static final int SUMMARY_INTERVAL = 30;
+
+    private final long[] samples;
+    private final long[] sorted;
+    private int count;
+    private int index;
+    private double averageMillis;
+    private double p99Millis;
+    private double maxMillis;
+
+    public FrameStats(int size) {
+        samples = new long[size];
+        sorted = new long[size];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[index] = nanos;
+        index = (index + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (index % SUMMARY_INTERVAL == 0) {
+            summarize();
+        }
+    }
+
+    private void summarize() {
+        System.arraycopy(samples, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += sorted[i];
+        }
+        averageMillis = total / (double) count / 1_000_000.0;
+        p99Millis = sorted[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)] / 1_000_000.0;
+        maxMillis = sorted[count - 1] / 1_000_000.0;
+    }
+
+    public synchronized double getAverageMillis() {
+        return averageMillis;
+    }
+
+    public synchronized double getP99Millis() {
+        return p99Millis;
+    }
+
+    public synchronized double getMaxMillis() {
+        return maxMillis;
+    }
+}
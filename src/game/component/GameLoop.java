@@ -0,0 +1,163 @@
+package game.component;
+
+public class GameLoop implements Runnable {
+
+    public interface Callback {
+
+        // Advance the world by exactly one fixed step of dt seconds
+        void tick(double dt);
+
+        // Copy the world state the renderer needs, called on the tick thread
+        void publish();
+
+        void render();
+    }
+
+    public static final int[] TICK_RATES = {30, 60, 120, 240};
+    public static final int DEFAULT_TICK_RATE = 60;
+
+    // Never simulate more than this much time after a stall (debugger, window drag, ...)
+    private static final long MAX_FRAME_TIME = 250_000_000L;
+
+    private final Callback callback;
+    private final FramePacer pacer;
+    private final boolean pipelined;
+    private volatile int tickRate;
+    private volatile boolean running;
+    private Thread thread;
+    private Thread renderThread;
+    private volatile long tickCount;
+
+    public GameLoop(Callback callback, int frameRate, int tickRate) {
+        this(callback, frameRate, tickRate, false);
+    }
+
+    // A pipelined loop simulates on its own thread and publishes after every
+    // tick while a second thread renders the latest published tick
+    public GameLoop(Callback callback, int frameRate, int tickRate, boolean pipelined) {
+        this.callback = callback;
+        this.pacer = new FramePacer(1_000_000_000L / frameRate);
+        this.pipelined = pipelined;
+        setTickRate(tickRate);
+    }
+
+    public void start() {
+        running = true;
+        if (pipelined) {
+            thread = new Thread(this::runSimulation, "game-simulation");
+            renderThread = new Thread(this::runRender, "game-render");
+            thread.start();
+            renderThread.start();
+        } else {
+            thread = new Thread(this, "game-loop");
+            thread.start();
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    // Waits for the loop threads to finish after stop(), at most a frame or so
+    public void join() {
+        joinThread(thread);
+        joinThread(renderThread);
+    }
+
+    private static void joinThread(Thread t) {
+        if (t == null || t == Thread.currentThread()) {
+            return;
+        }
+        try {
+            t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        long accumulator = 0;
+        long previous = System.nanoTime();
+        while (running) {
+            long startTime = System.nanoTime();
+            long elapsed = Math.min(startTime - previous, MAX_FRAME_TIME);
+            previous = startTime;
+            accumulator += elapsed;
+
+            // Read the rate once per frame so a settings change never splits a step
+            int rate = tickRate;
+            long tickTime = 1_000_000_000L / rate;
+            double dt = 1.0 / rate;
+            while (accumulator >= tickTime) {
+                callback.tick(dt);
+                accumulator -= tickTime;
+                tickCount++;
+            }
+            callback.publish();
+            callback.render();
+            pacer.sync();
+        }
+    }
+
+    private void runSimulation() {
+        long accumulator = 0;
+        long previous = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            accumulator += Math.min(now - previous, MAX_FRAME_TIME);
+            previous = now;
+
+            int rate = tickRate;
+            long tickTime = 1_000_000_000L / rate;
+            double dt = 1.0 / rate;
+            while (accumulator >= tickTime) {
+                callback.tick(dt);
+                callback.publish();
+                accumulator -= tickTime;
+                tickCount++;
+            }
+            FramePacer.waitUntil(now + tickTime - accumulator);
+        }
+    }
+
+    private void runRender() {
+        while (running) {
+            callback.render();
+            pacer.sync();
+        }
+    }
+
+    public void setTickRate(int tickRate) {
+        this.tickRate = isSupported(tickRate) ? tickRate : DEFAULT_TICK_RATE;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    public FrameStats getFrameStats() {
+        return pacer.getStats();
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public static boolean isSupported(int tickRate) {
+        for (int rate : TICK_RATES) {
+            if (rate == tickRate) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,337 @@
+package game.component;
+
+import game.util.Palette;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Objects;
+
+/**
+ * Text overlays of the game screen: score panel, control hints, pause menu
+ * and game over screen. Each one is kept as a pre-rendered TextLayer and is
+ * repainted only when a value it shows changes, so a normal frame costs a
+ * couple of blits. Derived fonts are cached per style and size.
+ * Owned by the render thread.
+ */
+public class HudRenderer {
+
+    private static final int STATUS_WIDTH = 260;
+    private static final int STATUS_HEIGHT = 120;
+    private static final int CONTROLS_WIDTH = 120;
+    private static final int CONTROLS_HEIGHT = 60;
+
+    private Font baseFont;
+    private final Font[][] fonts = new Font[2][64];
+
+    //  Score panel, top left
+    private final TextLayer status = new TextLayer();
+    private boolean statusValid;
+    private int statusScore;
+    private int statusBest;
+    private String statusUser;
+    private int statusCharges;
+    private boolean statusUltimate;
+    private long statusTenths;
+
+    //  Control hints, top right
+    private final TextLayer controls = new TextLayer();
+    private boolean controlsValid;
+    private boolean controlsUltimate;
+    private int controlsCharges;
+
+    //  Pause menu
+    private final TextLayer pause = new TextLayer();
+    private boolean pauseValid;
+    private int pauseWidth;
+    private int pauseHeight;
+    private String pauseDifficulty;
+    private int pauseVolume;
+    private int pauseBrightness;
+    private boolean pauseUltimate;
+    private long pauseTenths;
+
+    //  Game over screen
+    private final TextLayer gameOver = new TextLayer();
+    private boolean gameOverValid;
+    private int gameOverWidth;
+    private int gameOverHeight;
+    private int gameOverScore;
+    private int gameOverBest;
+
+    // Fonts are derived from the component font, re-derived if it changes
+    public void setBaseFont(Font font) {
+        if (font != baseFont) {
+            baseFont = font;
+            fonts[0] = new Font[64];
+            fonts[1] = new Font[64];
+            statusValid = false;
+            controlsValid = false;
+            pauseValid = false;
+            gameOverValid = false;
+        }
+    }
+
+    private Font font(int style, int size) {
+        int index = style == Font.BOLD ? 1 : 0;
+        Font font = fonts[index][size];
+        if (font == null) {
+            font = baseFont.deriveFont(style, (float) size);
+            fonts[index][size] = font;
+        }
+        return font;
+    }
+
+    public void drawStatus(Graphics2D g2, int width, int score, int bestScore, String currentUser,
+            int ultimateCharges, boolean ultimateActive, double ultimateTimer) {
+        long tenths = ultimateActive ? Math.round(ultimateTimer * 10) : 0;
+        if (!statusValid || score != statusScore || bestScore != statusBest || !Objects.equals(currentUser, statusUser)
+                || ultimateCharges != statusCharges || ultimateActive != statusUltimate || tenths != statusTenths) {
+            statusScore = score;
+            statusBest = bestScore;
+            statusUser = currentUser;
+            statusCharges = ultimateCharges;
+            statusUltimate = ultimateActive;
+            statusTenths = tenths;
+            statusValid = true;
+            Graphics2D g = status.begin(STATUS_WIDTH, STATUS_HEIGHT);
+            paintStatus(g, score, bestScore, currentUser, ultimateCharges, ultimateActive, tenths / 10.0);
+            g.dispose();
+        }
+        status.draw(g2, 0, 0);
+
+        if (!controlsValid || ultimateActive != controlsUltimate || ultimateCharges != controlsCharges) {
+            controlsUltimate = ultimateActive;
+            controlsCharges = ultimateCharges;
+            controlsValid = true;
+            Graphics2D g = controls.begin(CONTROLS_WIDTH, CONTROLS_HEIGHT);
+            paintControls(g, ultimateCharges, ultimateActive);
+            g.dispose();
+        }
+        controls.draw(g2, width - CONTROLS_WIDTH, 0);
+    }
+
+    private void paintStatus(Graphics2D g2, int score, int bestScore, String currentUser,
+            int ultimateCharges, boolean ultimateActive, double timeLeft) {
+        g2.setColor(Color.WHITE);
+        g2.setFont(font(Font.BOLD, 15));
+        g2.drawString("Score : " + score, 10, 20);
+
+        // Display current user and their best score
+        g2.setFont(font(Font.PLAIN, 12));
+        g2.drawString("Player: " + currentUser, 10, 40);
+        g2.drawString("Best: " + bestScore, 10, 55);
+
+        // Display ultimate charges and status
+        g2.setFont(font(Font.BOLD, 14));
+        if (ultimateActive) {
+            g2.setColor(Palette.GOLD);
+            g2.drawString("ULTIMATE MODE: " + String.format("%.1f", timeLeft) + "s", 10, 75);
+            g2.setFont(font(Font.PLAIN, 10));
+            g2.drawString("J shoots ultimate bullets!", 10, 90);
+        } else if (ultimateCharges > 0) {
+            g2.setColor(Color.YELLOW);
+            g2.drawString("Ultimate: " + ultimateCharges, 10, 75);
+            g2.setFont(font(Font.PLAIN, 10));
+            g2.drawString("Press K to activate (5s)", 10, 90);
+        } else {
+            g2.setColor(Color.GRAY);
+            g2.drawString("Ultimate: 0", 10, 75);
+            g2.setFont(font(Font.PLAIN, 10));
+            g2.drawString("Get 10 points for charge", 10, 90);
+        }
+
+        // Show if current score is a new personal best
+        if (score > bestScore && score > 0) {
+            g2.setColor(Color.YELLOW);
+            g2.setFont(font(Font.BOLD, 14));
+            g2.drawString("NEW PERSONAL BEST!", 10, 110);
+        }
+    }
+
+    // Drawn relative to the right edge minus CONTROLS_WIDTH
+    private void paintControls(Graphics2D g2, int ultimateCharges, boolean ultimateActive) {
+        g2.setColor(Color.WHITE);
+        g2.setFont(font(Font.PLAIN, 12));
+        g2.drawString("Press 'P' to pause", 0, 20);
+
+        // Display controls
+        g2.setFont(font(Font.PLAIN, 10));
+        if (ultimateActive) {
+            g2.setColor(Palette.GOLD);
+            g2.drawString("J: ULTIMATE SHOT!", 0, 40);
+            g2.drawString("K: ULTIMATE SHOT!", 0, 55);
+        } else {
+            g2.setColor(Color.WHITE);
+            g2.drawString("J: Normal Shot", 0, 40);
+            if (ultimateCharges > 0) {
+                g2.setColor(Color.YELLOW);
+                g2.drawString("K: Ultimate Shot (" + ultimateCharges + ")", 0, 55);
+            } else {
+                g2.setColor(Color.GRAY);
+                g2.drawString("K: Ultimate (0)", 0, 55);
+            }
+        }
+    }
+
+    public void drawPause(Graphics2D g2, int width, int height, String difficulty, int volume, int brightness,
+            boolean ultimateActive, double ultimateTimer) {
+        long tenths = ultimateActive ? Math.round(ultimateTimer * 10) : 0;
+        if (!pauseValid || width != pauseWidth || height != pauseHeight || !Objects.equals(difficulty, pauseDifficulty)
+                || volume != pauseVolume || brightness != pauseBrightness || ultimateActive != pauseUltimate || tenths != pauseTenths) {
+            pauseWidth = width;
+            pauseHeight = height;
+            pauseDifficulty = difficulty;
+            pauseVolume = volume;
+            pauseBrightness = brightness;
+            pauseUltimate = ultimateActive;
+            pauseTenths = tenths;
+            pauseValid = true;
+            Graphics2D g = pause.begin(width, height);
+            paintPause(g, width, height, difficulty, volume, brightness, ultimateActive, tenths / 10.0);
+            g.dispose();
+        }
+        pause.draw(g2, 0, 0);
+    }
+
+    private void paintPause(Graphics2D g2, int width, int height, String difficulty, int volume, int brightness,
+            boolean ultimateActive, double timeLeft) {
+        g2.setColor(Palette.PAUSE_SHADE);
+        g2.fillRect(0, 0, width, height);
+
+        g2.setColor(Color.WHITE);
+        g2.setFont(font(Font.BOLD, 36));
+        drawCentered(g2, "PAUSED", width, 150);
+
+        // Show current difficulty info
+        g2.setFont(font(Font.BOLD, 16));
+        drawCentered(g2, "Current Difficulty: " + difficulty, width, 190);
+
+        // Show ultimate status in pause menu
+        if (ultimateActive) {
+            g2.setColor(Palette.GOLD);
+            drawCentered(g2, "Ultimate Mode Active: " + String.format("%.1f", timeLeft) + "s remaining", width, 220);
+            g2.setColor(Color.WHITE);
+        }
+
+        // Volume section
+        g2.setFont(font(Font.BOLD, 18));
+        drawCentered(g2, "Volume: " + volume + "%", width, 260);
+
+        // Volume slider
+        int sliderWidth = 300;
+        int sliderHeight = 20;
+        int sliderX = (width - sliderWidth) / 2;
+        int volumeSliderY = 270;
+        g2.setColor(Color.DARK_GRAY);
+        g2.fillRect(sliderX, volumeSliderY, sliderWidth, sliderHeight);
+        g2.setColor(Color.GREEN);
+        int fillWidth = (int) (sliderWidth * (volume / 100.0));
+        g2.fillRect(sliderX, volumeSliderY, fillWidth, sliderHeight);
+        g2.setColor(Color.WHITE);
+        g2.drawRect(sliderX, volumeSliderY, sliderWidth, sliderHeight);
+
+        // Brightness section
+        g2.setFont(font(Font.BOLD, 18));
+        drawCentered(g2, "Brightness: " + brightness + "%", width, 320);
+
+        // Brightness slider
+        int brightnessSliderY = 330;
+        g2.setColor(Color.DARK_GRAY);
+        g2.fillRect(sliderX, brightnessSliderY, sliderWidth, sliderHeight);
+        g2.setColor(Color.YELLOW);
+        fillWidth = (int) (sliderWidth * (brightness / 100.0));
+        g2.fillRect(sliderX, brightnessSliderY, fillWidth, sliderHeight);
+        g2.setColor(Color.WHITE);
+        g2.drawRect(sliderX, brightnessSliderY, sliderWidth, sliderHeight);
+
+        drawButton(g2, "Resume Game", width / 2, 400);
+        drawButton(g2, "Restart Game", width / 2, 450);
+        drawButton(g2, "Main Menu", width / 2, 500);
+
+        g2.setFont(font(Font.PLAIN, 14));
+        drawCentered(g2, "Click on buttons or sliders to interact", width, 560);
+        drawCentered(g2, "Press ESC to return to main menu", width, 580);
+    }
+
+    public void drawGameOver(Graphics2D g2, int width, int height, int score, int bestScore) {
+        if (!gameOverValid || width != gameOverWidth || height != gameOverHeight
+                || score != gameOverScore || bestScore != gameOverBest) {
+            gameOverWidth = width;
+            gameOverHeight = height;
+            gameOverScore = score;
+            gameOverBest = bestScore;
+            gameOverValid = true;
+            Graphics2D g = gameOver.begin(width, height);
+            paintGameOver(g, width, height, score, bestScore);
+            g.dispose();
+        }
+        gameOver.draw(g2, 0, 0);
+    }
+
+    private void paintGameOver(Graphics2D g2, int width, int height, int score, int bestScore) {
+        // Draw GAME OVER text
+        g2.setColor(Color.WHITE);
+        g2.setFont(font(Font.BOLD, 50));
+        double y = (height / 2) - 100; // Position higher up
+        drawCentered(g2, "GAME OVER", width, (int) y);
+
+        // Show final score with proper spacing
+        g2.setFont(font(Font.BOLD, 24));
+        y += 80;
+        drawCentered(g2, "Final Score: " + score, width, (int) y);
+
+        // Show if it's a new best score
+        if (score > bestScore && score > 0) {
+            g2.setColor(Color.YELLOW);
+            g2.setFont(font(Font.BOLD, 20));
+            y += 40;
+            drawCentered(g2, "NEW PERSONAL BEST!", width, (int) y);
+            g2.setColor(Color.WHITE);
+        }
+
+        // Show continue instruction
+        g2.setFont(font(Font.BOLD, 15));
+        y += 60;
+        drawCentered(g2, "Press key enter to Continue ...", width, (int) y);
+
+        // Show ESC option
+        g2.setFont(font(Font.PLAIN, 12));
+        y += 30;
+        drawCentered(g2, "Press ESC to return to main menu", width, (int) y);
+    }
+
+    private void drawCentered(Graphics2D g2, String text, int width, int y) {
+        FontMetrics fm = g2.getFontMetrics();
+        Rectangle2D r2 = fm.getStringBounds(text, g2);
+        double x = (width - r2.getWidth()) / 2;
+        g2.drawString(text, (int) x, y);
+    }
+
+    private void drawButton(Graphics2D g2, String text, int centerX, int y) {
+        int buttonWidth = 200;
+        int buttonHeight = 40;
+        int x = centerX - buttonWidth / 2;
+
+        g2.setColor(Palette.BUTTON_FILL);
+        g2.fillRect(x, y, buttonWidth, buttonHeight);
+
+        g2.setColor(Palette.BUTTON_BORDER);
+        g2.drawRect(x, y, buttonWidth, buttonHeight);
+
+        g2.setColor(Color.WHITE);
+        g2.setFont(font(Font.BOLD, 16));
+        FontMetrics fm = g2.getFontMetrics();
+        Rectangle2D r2 = fm.getStringBounds(text, g2);
+        double textX = centerX - r2.getWidth() / 2;
+        double textY = y + (buttonHeight - r2.getHeight()) / 2 + fm.getAscent();
+        g2.drawString(text, (int) textX, (int) textY);
+    }
+
+    // Total repaints across all layers, for the debug HUD
+    public int getRebuilds() {
+        return status.getRebuilds() + controls.getRebuilds() + pause.getRebuilds() + gameOver.getRebuilds();
+    }
+}
@@ -0,0 +1,39 @@
+package game.component;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import javax.swing.JComponent;
+
+// The original path: a software ARGB image blitted through getGraphics()
+public class ImageSurface implements RenderSurface {
+
+    private final JComponent component;
+    private BufferedImage image;
+    private Graphics2D g2;
+
+    public ImageSurface(JComponent component) {
+        this.component = component;
+    }
+
+    @Override
+    public Graphics2D beginFrame(int width, int height) {
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            if (g2 != null) {
+                g2.dispose();
+            }
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            g2 = image.createGraphics();
+        }
+        return g2;
+    }
+
+    @Override
+    public void show() {
+        Graphics g = component.getGraphics();
+        if (g != null) {
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+        }
+    }
+}
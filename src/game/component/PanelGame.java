@@ -1,77 +1,89 @@
 package game.component;
 
+import game.engine.GameWorld;
+import game.engine.InputRecorder;
+import game.engine.Key;
+import game.engine.Replay;
 import game.main.Main;
-import game.obj.Bullet;
-import game.obj.Effect;
+import game.obj.ExplosionPreset;
+import game.obj.ParticleRenderer;
 import game.obj.Player;
 import game.obj.Rocket;
 import game.obj.sound.Sound;
 import game.util.GameSettings;
 import game.util.HighscoreManager;
 import game.util.DifficultySettings;
+import game.util.Palette;
 
+import java.awt.Canvas;
 import java.awt.Color;
+import java.awt.DisplayMode;
 import java.awt.Font;
-import java.awt.FontMetrics;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.geom.Area;
-import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.io.File;
+import java.io.IOException;
 import javax.swing.JComponent;
 import javax.swing.SwingUtilities;
 
-public class PanelGame extends JComponent {
+public class PanelGame extends JComponent implements GameLoop.Callback {
+
+    // Where each game is recorded when replays are on, overwritten by the next one
+    public static final String REPLAY_FILE = "last_game.replay";
 
     private Graphics2D g2;
-    private BufferedImage image;
+    private ScaledSurface surface;
+    private Canvas canvas;
+    private MouseAdapter mouseHandler;
     private int width;
     private int height;
-    private Thread thread;
-    private boolean start = true;
-    private boolean paused = false;
-    private Key key;
-    private int shotTime;
+    private GameLoop loop;
+    private QualityGovernor governor;
+    private QualityGovernor.Level appliedLevel;
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private volatile boolean paused = false;
+    private volatile boolean showDebugHud = false;
     private GameSettings gameSettings;
     private HighscoreManager highscoreManager;
+    // Guards scoreSubmitted, the tick thread and the EDT both submit
+    private final Object scoreLock = new Object();
     private boolean scoreSubmitted = false;
     private DifficultySettings.DifficultyConfig currentDifficulty;
 
     //  Game FPS
     private final int FPS = 60;
-    private final int TARGET_TIME = 1000000000 / FPS;
+    // Ticks between replay checksums, one a second at the default tick rate
+    private static final int CHECKSUM_INTERVAL = GameLoop.DEFAULT_TICK_RATE;
+    private int frameRate = FPS;
     //  Game Object
     private Sound sound;
-    private Player player;
-    private List<Bullet> bullets;
-    private List<Rocket> rockets;
-    private List<Effect> boomEffects;
-    private int score = 0;
-    
-    // Ultimate system - 5 seconds duration
-    private int ultimateCharges = 0;
-    private boolean ultimateActive = false;
-    private int ultimateTimer = 0;
-    private final int ULTIMATE_DURATION = 300; // 5 seconds at 60 FPS (5 * 60 = 300)
-    
-    // Define gold color
-    private final Color GOLD_COLOR = new Color(255, 215, 0);
+    private GameWorld world;
+    private InputRecorder recorder;
+    private Replay replay;
+    private boolean replayReported;
+    // Loop time not yet covered by recorded ticks, in seconds
+    private double replayClock;
+    private final ParticleRenderer particleRenderer = new ParticleRenderer();
+    private final HudRenderer hud = new HudRenderer();
+    private final Backdrop backdrop = new Backdrop();
 
     public PanelGame() {
+        this(null);
+    }
+
+    // Plays the replay instead of taking keyboard input, scores are not submitted
+    public PanelGame(Replay replay) {
+        this.replay = replay;
         gameSettings = GameSettings.getInstance();
         highscoreManager = HighscoreManager.getInstance();
         currentDifficulty = DifficultySettings.getDifficultyConfig(gameSettings.getDifficulty());
         
         // Add mouse listener for button clicks
-        addMouseListener(new MouseAdapter() {
+        mouseHandler = new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
                 if (paused) {
@@ -84,13 +96,14 @@ public class PanelGame extends JComponent {
                     }
                     // Check if restart button is clicked
                     else if (isButtonClicked(x, y, width / 2, 450)) { // Updated coordinates
-                        resetGame();
+                        world.requestRestart();
                         togglePause();
                     }
                     // Check if main menu button is clicked
                     else if (isButtonClicked(x, y, width / 2, 500)) { // Updated coordinates
-                        submitScore();
-                        start = false;
+                        loop.stop();
+                        loop.join();
+                        submitScore(world.getScore());
                         paused = true;
                         
                         Main mainFrame = (Main)SwingUtilities.getWindowAncestor(PanelGame.this);
@@ -125,7 +138,8 @@ public class PanelGame extends JComponent {
                     }
                 }
             }
-        });
+        };
+        addMouseListener(mouseHandler);
     }
 
     public void applySettings() {
@@ -135,6 +149,17 @@ public class PanelGame extends JComponent {
         
         // Update difficulty settings
         currentDifficulty = DifficultySettings.getDifficultyConfig(gameSettings.getDifficulty());
+        if (world != null) {
+            world.setDifficulty(currentDifficulty);
+        }
+        
+        if (loop != null) {
+            loop.setTickRate(gameSettings.getTickRate());
+        }
+        if (governor != null) {
+            governor.setEnabled(gameSettings.isAdaptiveQuality());
+            governor.setRenderScale(gameSettings.getRenderScale());
+        }
         
         repaint();
     }
@@ -142,141 +167,233 @@ public class PanelGame extends JComponent {
     public void start() {
         width = getWidth();
         height = getHeight();
-        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        g2 = image.createGraphics();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        thread = new Thread(new Runnable() {
-            @Override
-            public void run() {
-                while (start) {
-                    long startTime = System.nanoTime();
-                    drawBackground();
-                    drawGame();
-                    render();
-                    long time = System.nanoTime() - startTime;
-                    if (time < TARGET_TIME) {
-                        long sleep = (TARGET_TIME - time) / 1000000;
-                        sleep(sleep);
-                    }
-                }
-            }
-        });
+        String backend = gameSettings.getRenderBackend();
+        surface = new ScaledSurface(createSurface(backend), !"Image".equals(backend));
+        Player.prepareSprites(gameSettings.getSpriteRotationStep());
+        Rocket.prepareSprites(gameSettings.getSpriteRotationStep());
+        frameRate = getTargetFrameRate();
+        loop = new GameLoop(this, frameRate, gameSettings.getTickRate(), gameSettings.isPipelinedRendering());
+        governor = new QualityGovernor(frameRate, gameSettings.isPipelinedRendering(), !"Image".equals(backend));
         initObjectGame();
         initKeyboard();
-        initBullets();
         
         applySettings();
         
-        thread.start();
+        loop.start();
     }
 
-    private void addRocket() {
-        Random ran = new Random();
-        int locationY = ran.nextInt(height - 50) + 25;
-        Rocket rocket = new Rocket();
-        rocket.changeLocation(0, locationY);
-        rocket.changeAngle(0);
-        rocket.setSpeedMultiplier(currentDifficulty.getRocketSpeedMultiplier());
-        rocket.setMaxHP(currentDifficulty.getRocketMaxHP());
-        rockets.add(rocket);
-        
-        int locationY2 = ran.nextInt(height - 50) + 25;
-        Rocket rocket2 = new Rocket();
-        rocket2.changeLocation(width, locationY2);
-        rocket2.changeAngle(180);
-        rocket2.setSpeedMultiplier(currentDifficulty.getRocketSpeedMultiplier());
-        rocket2.setMaxHP(currentDifficulty.getRocketMaxHP());
-        rockets.add(rocket2);
+    @Override
+    public void tick(double dt) {
+        long startTime = System.nanoTime();
+        if (!paused) {
+            if (replay != null) {
+                stepReplay(dt);
+            } else {
+                world.tick(dt);
+            }
+        }
+        governor.recordTick(System.nanoTime() - startTime);
+    }
+
+    // Replays run at the recorded time step. Recorded ticks are taken against
+    // the loop's time, so they play at real speed whatever the tick rate now is.
+    private void stepReplay(double dt) {
+        replayClock += dt;
+        try {
+            while (replayClock > 0) {
+                if (!replay.step() || replay.getTimeStep() <= 0) {
+                    break;
+                }
+                replayClock -= replay.getTimeStep();
+            }
+            if (!replay.isFinished() || replayReported) {
+                return;
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading replay: " + e.getMessage());
+        }
+        replayReported = true;
+        if (replay.getMismatchTick() >= 0) {
+            System.out.printf("Replay diverged at tick %d (%d other checksums matched)%n",
+                    replay.getMismatchTick(), replay.getChecksumsVerified());
+        } else {
+            System.out.printf("Replay finished: %d ticks, %d checksums matched%n",
+                    world.getTickCount(), replay.getChecksumsVerified());
+        }
+    }
+
+    @Override
+    public void publish() {
+        WorldSnapshot snapshot = snapshots.beginWrite();
+        snapshot.capturePlayer(world.getPlayer());
+        snapshot.captureRockets(world.getRockets());
+        snapshot.captureBullets(world.getBullets());
+        snapshot.captureParticles(world.getParticles());
+        snapshot.capturePools(world.getRockets());
+        snapshot.captureHud(world.getScore(), world.getUltimateCharges(), world.isUltimateActive(), world.getUltimateTimer());
+        snapshots.publish();
+    }
+
+    @Override
+    public void render() {
+        // Only ever draw published state, the live lists belong to the tick thread
+        WorldSnapshot snapshot = snapshots.acquire();
+        long startTime = System.nanoTime();
+        QualityGovernor.Level level = applyQuality();
+        g2 = surface.beginFrame(width, height);
+        if (g2 == null) {
+            return;
+        }
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, level.isAntialiasing()
+                ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, level.isSmoothImages()
+                ? RenderingHints.VALUE_INTERPOLATION_BILINEAR : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        drawBackground(snapshot);
+        if (snapshot.getSequence() > 0) {
+            drawGame(snapshot);
+        }
+        surface.show();
+        governor.recordFrame(System.nanoTime() - startTime);
+    }
+
+    // Pushes the governor's current level into the surface and the explosion presets
+    private QualityGovernor.Level applyQuality() {
+        QualityGovernor.Level level = governor.getLevel();
+        surface.setScale(Math.min(gameSettings.getRenderScale(), level.getRenderScale()));
+        if (level != appliedLevel) {
+            for (ExplosionPreset preset : ExplosionPreset.getAll()) {
+                preset.setDensity(level.getParticleDensity());
+            }
+            appliedLevel = level;
+        }
+        return level;
+    }
+
+    private int getTargetFrameRate() {
+        if (gameSettings.isLockToRefreshRate() && getGraphicsConfiguration() != null) {
+            int refreshRate = getGraphicsConfiguration().getDevice().getDisplayMode().getRefreshRate();
+            if (refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                return refreshRate;
+            }
+        }
+        return FPS;
+    }
+
+    private RenderSurface createSurface(String backend) {
+        if ("BufferStrategy".equals(backend)) {
+            // A heavyweight canvas covers the panel, so it takes over mouse input.
+            // Keys still go to the panel since the canvas never takes focus.
+            canvas = new Canvas();
+            canvas.setFocusable(false);
+            canvas.setBounds(0, 0, width, height);
+            canvas.addMouseListener(mouseHandler);
+            add(canvas);
+            return new CanvasSurface(canvas);
+        } else if ("Volatile".equals(backend)) {
+            return new VolatileSurface(this);
+        }
+        return new ImageSurface(this);
     }
 
     private void initObjectGame() {
         sound = new Sound();
-        player = new Player();
-        player.changeLocation(150, 150);
-        player.setMaxHP(currentDifficulty.getPlayerMaxHP());
-        
-        // Set screen boundaries for player
-        player.setScreenBounds(width, height);
-        
-        rockets = new ArrayList<>();
-        boomEffects = new ArrayList<>();
-        
-        new Thread(new Runnable() {
+        if (replay != null) {
+            try {
+                world = replay.createWorld(sound);
+                return;
+            } catch (IOException e) {
+                System.err.println("Error starting replay: " + e.getMessage());
+                replay = null;
+            }
+        }
+        world = new GameWorld(width, height, currentDifficulty, sound);
+        if (gameSettings.isRecordReplays()) {
+            try {
+                recorder = new InputRecorder(new File(REPLAY_FILE), world, CHECKSUM_INTERVAL);
+                world.setRecorder(recorder);
+            } catch (IOException e) {
+                System.err.println("Error starting replay recording: " + e.getMessage());
+            }
+        }
+        world.setListener(new GameWorld.Listener() {
             @Override
-            public void run() {
-                while (start) {
-                    if (!paused) {
-                        addRocket();
-                    }
-                    sleep(currentDifficulty.getRocketSpawnInterval());
-                }
+            public void playerDestroyed(int score) {
+                submitScore(score);
             }
-        }).start();
-    }
 
-    private void resetGame() {
-        submitScore();
-        
-        score = 0;
-        ultimateCharges = 0; // Reset ultimate charges
-        ultimateActive = false;
-        ultimateTimer = 0;
-        rockets.clear();
-        bullets.clear();
-        player.changeLocation(150, 150);
-        player.reset();
-        player.setMaxHP(currentDifficulty.getPlayerMaxHP());
-        scoreSubmitted = false;
-        
-        // Reset all key states
-        resetKeyStates();
-        
-        // Update difficulty settings in case they changed
-        currentDifficulty = DifficultySettings.getDifficultyConfig(gameSettings.getDifficulty());
+            @Override
+            public void gameRestarting(int score) {
+                synchronized (scoreLock) {
+                    submitScore(score);
+                    scoreSubmitted = false;
+                }
+            }
+        });
     }
     
-    // Add this new method to reset all key states
     private void resetKeyStates() {
-        if (key != null) {
-            key.setKey_left(false);
-            key.setKey_right(false);
-            key.setKey_space(false);
-            key.setKey_j(false);
-            key.setKey_k(false);
-            key.setKey_enter(false);
+        if (world != null) {
+            world.releaseKeys();
         }
-        shotTime = 0; // Also reset shot time
     }
 
     public void stopGame() {
-        submitScore();
         paused = true;
+        // No tick may submit or post sounds past this point
+        if (loop != null) {
+            loop.stop();
+            loop.join();
+        }
+        if (world != null) {
+            submitScore(world.getScore());
+        }
+        finishRecording();
+        if (sound != null) {
+            sound.close();
+        }
         resetKeyStates();
         repaint();
     }
     
-    private void submitScore() {
-        if (!scoreSubmitted && score > 0) {
-            String currentUser = gameSettings.getCurrentUser();
-            highscoreManager.addScore(currentUser, score);
-            scoreSubmitted = true;
+    // Stops the game and completes the replay file, also used when the window closes
+    public void finishRecording() {
+        if (recorder == null) {
+            return;
+        }
+        loop.stop();
+        loop.join();
+        recorder.close(world);
+        recorder = null;
+    }
+    
+    private void submitScore(int score) {
+        synchronized (scoreLock) {
+            if (!scoreSubmitted && score > 0 && replay == null) {
+                String currentUser = gameSettings.getCurrentUser();
+                highscoreManager.addScore(currentUser, score);
+                scoreSubmitted = true;
+            }
         }
     }
 
     private void initKeyboard() {
-        key = new Key();
+        Key key = world.getKey();
+        Player player = world.getPlayer();
         requestFocus();
         addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_F3) {
+                    showDebugHud = !showDebugHud;
+                    return;
+                }
                 if (!player.isAlive()) {
                     resetKeyStates();
                     if (e.getKeyCode() == KeyEvent.VK_ENTER) {
                         key.setKey_enter(true);
                     } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
-                        submitScore();
-                        start = false;
+                        submitScore(world.getScore());
+                        loop.stop();
                         
                         Main mainFrame = (Main)SwingUtilities.getWindowAncestor(PanelGame.this);
                         SwingUtilities.invokeLater(new Runnable() {
@@ -304,8 +421,8 @@ public class PanelGame extends JComponent {
                 } else if (e.getKeyCode() == KeyEvent.VK_P) {
                     togglePause();
                 } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE && paused) {
-                    submitScore();
-                    start = false;
+                    submitScore(world.getScore());
+                    loop.stop();
                     
                     Main mainFrame = (Main)SwingUtilities.getWindowAncestor(PanelGame.this);
                     SwingUtilities.invokeLater(new Runnable() {
@@ -341,512 +458,86 @@ public class PanelGame extends JComponent {
                 }
             }
         });
-        
-        new Thread(new Runnable() {
-            @Override
-            public void run() {
-                float s = 0.5f;
-                while (start) {
-                    if (!paused && player.isAlive()) {
-                        float angle = player.getAngle();
-                        if (key.isKey_left()) {
-                            angle -= s;
-                        }
-                        if (key.isKey_right()) {
-                            angle += s;
-                        }
-                                                if (key.isKey_j() || key.isKey_k()) {
-                            if (shotTime == 0) {
-                                if (key.isKey_j()) {
-                                    if (ultimateActive) {
-                                        // Ultimate bullet when J is pressed during ultimate mode
-                                        bullets.add(0, new Bullet(player.getX(), player.getY(), player.getAngle(), 20, 5f));
-                                    } else {
-                                        // Normal bullet
-                                        bullets.add(0, new Bullet(player.getX(), player.getY(), player.getAngle(), 5, 3f));
-                                    }
-                                    sound.soundShoot();
-                                } else if (key.isKey_k()) {
-                                    if (ultimateCharges > 0 && !ultimateActive) {
-                                        // Activate ultimate mode and shoot ultimate bullet immediately
-                                        ultimateCharges--;
-                                        ultimateActive = true;
-                                        ultimateTimer = ULTIMATE_DURATION;
-                                        bullets.add(0, new Bullet(player.getX(), player.getY(), player.getAngle(), 20, 5f));
-                                        sound.soundShoot();
-                                    } else if (ultimateActive) {
-                                        // If ultimate is already active, shoot ultimate bullet
-                                        bullets.add(0, new Bullet(player.getX(), player.getY(), player.getAngle(), 20, 5f));
-                                        sound.soundShoot();
-                                    }
-                                }
-                            }
-                            shotTime++;
-                            if (shotTime == 15) {
-                                shotTime = 0;
-                            }
-                        } else {
-                            shotTime = 0;
-                        }
 
-                        if (key.isKey_space()) {
-                            player.speedUp();
-                        } else {
-                            player.speedDown();
-                        }
-                        player.update();
-                        player.changeAngle(angle);
-                    } else if (!paused) {
-                        if (key.isKey_enter()) {
-                            resetGame();
-                        }
-                    }
-                    for (int i = 0; i < rockets.size(); i++) {
-                        Rocket rocket = rockets.get(i);
-                        if (rocket != null && !paused) {
-                            rocket.update();
-                            if (!rocket.check(width, height)) {
-                                rockets.remove(rocket);
-                            } else {
-                                if (player.isAlive()) {
-                                    checkPlayer(rocket);
-                                }
-                            }
-                        }
-                    }
-                    sleep(5);
-                }
-            }
-        }).start();
     }
 
-    private void initBullets() {
-        bullets = new ArrayList<>();
-        new Thread(new Runnable() {
-            @Override
-            public void run() {
-                while (start) {
-                    if (!paused) {
-                        for (int i = 0; i < bullets.size(); i++) {
-                            Bullet bullet = bullets.get(i);
-                                                        if (bullet != null) {
-                                bullet.update();
-                                checkBullets(bullet);
-                                if (!bullet.check(width, height)) {
-                                    bullets.remove(bullet);
-                                }
-                            } else {
-                                bullets.remove(bullet);
-                            }
-                        }
-                        for (int i = 0; i < boomEffects.size(); i++) {
-                            Effect boomEffect = boomEffects.get(i);
-                            if (boomEffect != null) {
-                                boomEffect.update();
-                                if (!boomEffect.check()) {
-                                    boomEffects.remove(boomEffect);
-                                }
-                            } else {
-                                boomEffects.remove(boomEffect);
-                            }
-                        }
-                        
-                        // Update ultimate timer
-                        if (ultimateActive && ultimateTimer > 0) {
-                            ultimateTimer--;
-                            if (ultimateTimer == 0) {
-                                ultimateActive = false;
-                            }
-                        }
-                    }
-                    sleep(1);
-                }
-            }
-        }).start();
-    }
-
-    private void checkBullets(Bullet bullet) {
-        for (int i = 0; i < rockets.size(); i++) {
-            Rocket rocket = rockets.get(i);
-            if (rocket != null) {
-                Area area = new Area(bullet.getShape());
-                area.intersect(rocket.getShape());
-                if (!area.isEmpty()) {
-                    boomEffects.add(new Effect(bullet.getCenterX(), bullet.getCenterY(), 3, 5, 60, 0.5f, new Color(230, 207, 105)));
-                    if (!rocket.updateHP(bullet.getSize())) {
-                        score++;
-                        
-                        // Check if player earned ultimate charge (every 10 points)
-                        if (score % 10 == 0) {
-                            ultimateCharges++;
-                        }
-                        
-                        rockets.remove(rocket);
-                        sound.soundDestroy();
-                        double x = rocket.getX() + Rocket.ROCKET_SIZE / 2;
-                        double y = rocket.getY() + Rocket.ROCKET_SIZE / 2;
-                        boomEffects.add(new Effect(x, y, 5, 5, 75, 0.05f, new Color(32, 178, 169)));
-                        boomEffects.add(new Effect(x, y, 5, 5, 75, 0.1f, new Color(32, 178, 169)));
-                        boomEffects.add(new Effect(x, y, 10, 10, 100, 0.3f, new Color(230, 207, 105)));
-                        boomEffects.add(new Effect(x, y, 10, 5, 100, 0.5f, new Color(255, 70, 70)));
-                        boomEffects.add(new Effect(x, y, 10, 5, 150, 0.2f, new Color(255, 255, 255)));
-                    } else {
-                        sound.soundHit();
-                    }
-                    bullets.remove(bullet);
-                }
-            }
-        }
-    }
-
-    private void checkPlayer(Rocket rocket) {
-        if (rocket != null) {
-            Area area = new Area(player.getShape());
-            area.intersect(rocket.getShape());
-            if (!area.isEmpty()) {
-                double rocketHp = rocket.getHP();
-                if (!rocket.updateHP(player.getHP())) {
-                    rockets.remove(rocket);
-                    sound.soundDestroy();
-                    double x = rocket.getX() + Rocket.ROCKET_SIZE / 2;
-                    double y = rocket.getY() + Rocket.ROCKET_SIZE / 2;
-                    boomEffects.add(new Effect(x, y, 5, 5, 75, 0.05f, new Color(32, 178, 169)));
-                    boomEffects.add(new Effect(x, y, 5, 5, 75, 0.1f, new Color(32, 178, 169)));
-                    boomEffects.add(new Effect(x, y, 10, 10, 100, 0.3f, new Color(230, 207, 105)));
-                    boomEffects.add(new Effect(x, y, 10, 5, 100, 0.5f, new Color(255, 70, 70)));
-                    boomEffects.add(new Effect(x, y, 10, 5, 150, 0.2f, new Color(255, 255, 255)));
-                }
-                if (!player.updateHP(rocketHp)) {
-                    player.setAlive(false);
-                    sound.soundDestroy();
-                    double x = player.getX() + Player.PLAYER_SIZE / 2;
-                    double y = player.getY() + Player.PLAYER_SIZE / 2;
-                    boomEffects.add(new Effect(x, y, 5, 5, 75, 0.05f, new Color(32, 178, 169)));
-                    boomEffects.add(new Effect(x, y, 5, 5, 75, 0.1f, new Color(32, 178, 169)));
-                    boomEffects.add(new Effect(x, y, 10, 10, 100, 0.3f, new Color(230, 207, 105)));
-                    boomEffects.add(new Effect(x, y, 10, 5, 100, 0.5f, new Color(255, 70, 70)));
-                    boomEffects.add(new Effect(x, y, 10, 5, 150, 0.2f, new Color(255, 255, 255)));
-                    
-                    // Reset key states when player dies
-                    resetKeyStates();
-                    
-                    submitScore();
-                }
-            }
+    private void drawBackground(WorldSnapshot snapshot) {
+        backdrop.update(gameSettings.getBrightness());
+        
+        // Ultimate mode visual effect - subtle golden pulse, pre-blended into the background
+        int alpha = 0;
+        if (snapshot.isUltimateActive() && snapshot.getUltimateTimer() > 0) {
+            float pulseIntensity = (float)(0.5 + 0.3 * Math.sin(snapshot.getUltimateTimer() * 12));
+            alpha = (int)(Backdrop.MAX_PULSE_ALPHA * pulseIntensity);
         }
-    }
-
-    private void drawBackground() {
-        int brightness = gameSettings.getBrightness();
-        float brightnessRatio = brightness / 100f;
-        
-        int colorValue = Math.max(5, Math.min(50, (int)(30 * brightnessRatio)));
-        g2.setColor(new Color(colorValue, colorValue, colorValue));
+        g2.setColor(backdrop.getFill(alpha));
         g2.fillRect(0, 0, width, height);
     }
 
-    private void drawGame() {
-        if (player.isAlive()) {
-            player.draw(g2);
-        }
-        for (int i = 0; i < bullets.size(); i++) {
-            Bullet bullet = bullets.get(i);
-            if (bullet != null) {
-                bullet.draw(g2);
-            }
-        }
-        for (int i = 0; i < rockets.size(); i++) {
-            Rocket rocket = rockets.get(i);
-            if (rocket != null) {
-                rocket.draw(g2);
-            }
-        }
-        for (int i = 0; i < boomEffects.size(); i++) {
-            Effect boomEffect = boomEffects.get(i);
-            if (boomEffect != null) {
-                boomEffect.draw(g2);
-            }
-        }
+    private void drawGame(WorldSnapshot snapshot) {
+        int score = snapshot.getScore();
+        int ultimateCharges = snapshot.getUltimateCharges();
+        boolean ultimateActive = snapshot.isUltimateActive();
+        double ultimateTimer = snapshot.getUltimateTimer();
         
-        int brightness = gameSettings.getBrightness();
-        float brightnessRatio = brightness / 100f;
+        snapshot.drawEntities(g2, particleRenderer);
         
-        if (brightnessRatio < 0.7f) {
-            g2.setColor(new Color(0, 0, 0, (int)(255 * (0.7f - brightnessRatio))));
-            g2.fillRect(0, 0, width, height);
-        } else if (brightnessRatio > 1.0f) {
-            g2.setColor(new Color(255, 255, 255, (int)(100 * (brightnessRatio - 1.0f))));
+        Color overlay = backdrop.getOverlay();
+        if (overlay != null) {
+            g2.setColor(overlay);
             g2.fillRect(0, 0, width, height);
         }
         
-        // Ultimate mode visual effect - subtle semi-transparent overlay
         if (ultimateActive && ultimateTimer > 0) {
-            // Create a subtle golden overlay with pulsing effect
-            float pulseIntensity = (float)(0.5 + 0.3 * Math.sin(ultimateTimer * 0.2));
-            int alpha = (int)(30 * pulseIntensity); // Very subtle transparency (max 30)
-            g2.setColor(new Color(255, 215, 0, alpha)); // Golden color with low alpha
-            g2.fillRect(0, 0, width, height);
-            
             // Add subtle border effect
-            g2.setColor(new Color(255, 215, 0, 80));
+            g2.setColor(Palette.GOLD_BORDER);
             g2.drawRect(5, 5, width - 10, height - 10);
             g2.drawRect(10, 10, width - 20, height - 20);
         }
         
-        g2.setColor(Color.WHITE);
-        g2.setFont(getFont().deriveFont(Font.BOLD, 15f));
-        g2.drawString("Score : " + score, 10, 20);
-        
         // Display current user and their best score
         String currentUser = gameSettings.getCurrentUser();
         int bestScore = highscoreManager.getPlayerBestScore(currentUser);
-        g2.setFont(getFont().deriveFont(Font.PLAIN, 12f));
-        g2.drawString("Player: " + currentUser, 10, 40);
-        g2.drawString("Best: " + bestScore, 10, 55);
+        hud.setBaseFont(getFont());
+        hud.drawStatus(g2, width, score, bestScore, currentUser, ultimateCharges, ultimateActive, ultimateTimer);
         
-        // Display ultimate charges and status
-        g2.setFont(getFont().deriveFont(Font.BOLD, 14f));
-        if (ultimateActive) {
-            g2.setColor(GOLD_COLOR);
-            float timeLeft = ultimateTimer / 60.0f; // Convert to seconds
-            g2.drawString("ULTIMATE MODE: " + String.format("%.1f", timeLeft) + "s", 10, 75);
-            g2.setFont(getFont().deriveFont(Font.PLAIN, 10f));
-            g2.drawString("J shoots ultimate bullets!", 10, 90);
-        } else if (ultimateCharges > 0) {
-            g2.setColor(Color.YELLOW);
-            g2.drawString("Ultimate: " + ultimateCharges, 10, 75);
-            g2.setFont(getFont().deriveFont(Font.PLAIN, 10f));
-            g2.drawString("Press K to activate (5s)", 10, 90);
-        } else {
-            g2.setColor(Color.GRAY);
-            g2.drawString("Ultimate: 0", 10, 75);
-            g2.setFont(getFont().deriveFont(Font.PLAIN, 10f));
-            g2.drawString("Get 10 points for charge", 10, 90);
+        if (showDebugHud) {
+            drawDebugHud(snapshot);
         }
         
-        // Show if current score is a new personal best
-        if (score > bestScore && score > 0) {
-            g2.setColor(Color.YELLOW);
-            g2.setFont(getFont().deriveFont(Font.BOLD, 14f));
-            g2.drawString("NEW PERSONAL BEST!", 10, 110);
-        }
-        
-        g2.setColor(Color.WHITE);
-        g2.setFont(getFont().deriveFont(Font.PLAIN, 12f));
-        g2.drawString("Press 'P' to pause", width - 120, 20);
-        
-        // Display controls
-                // Display controls
-        g2.setFont(getFont().deriveFont(Font.PLAIN, 10f));
-        if (ultimateActive) {
-            g2.setColor(GOLD_COLOR);
-            g2.drawString("J: ULTIMATE SHOT!", width - 120, 40);
-            g2.drawString("K: ULTIMATE SHOT!", width - 120, 55);
-        } else {
-            g2.setColor(Color.WHITE);
-            g2.drawString("J: Normal Shot", width - 120, 40);
-            if (ultimateCharges > 0) {
-                g2.setColor(Color.YELLOW);
-                g2.drawString("K: Ultimate Shot (" + ultimateCharges + ")", width - 120, 55);
-            } else {
-                g2.setColor(Color.GRAY);
-                g2.drawString("K: Ultimate (0)", width - 120, 55);
-            }
-        }
-
-        
-        g2.setColor(Color.WHITE);
-        
         if (paused) {
-            g2.setColor(new Color(0, 0, 0, 180));
-            g2.fillRect(0, 0, width, height);
-            
-            g2.setColor(Color.WHITE);
-            g2.setFont(getFont().deriveFont(Font.BOLD, 36f));
-            String pauseText = "PAUSED";
-            FontMetrics fm = g2.getFontMetrics();
-            Rectangle2D r2 = fm.getStringBounds(pauseText, g2);
-            double textWidth = r2.getWidth();
-            double x = (width - textWidth) / 2;
-            g2.drawString(pauseText, (int) x, 150);
-            
-            // Show current difficulty info
-            g2.setFont(getFont().deriveFont(Font.BOLD, 16f));
-            String difficultyText = "Current Difficulty: " + gameSettings.getDifficulty();
-            fm = g2.getFontMetrics();
-            r2 = fm.getStringBounds(difficultyText, g2);
-            textWidth = r2.getWidth();
-            x = (width - textWidth) / 2;
-            g2.drawString(difficultyText, (int) x, 190);
-            
-            // Show ultimate status in pause menu
-            if (ultimateActive) {
-                g2.setColor(GOLD_COLOR);
-                float timeLeft = ultimateTimer / 60.0f;
-                String ultimateText = "Ultimate Mode Active: " + String.format("%.1f", timeLeft) + "s remaining";
-                fm = g2.getFontMetrics();
-                r2 = fm.getStringBounds(ultimateText, g2);
-                textWidth = r2.getWidth();
-                x = (width - textWidth) / 2;
-                g2.drawString(ultimateText, (int) x, 220);
-                g2.setColor(Color.WHITE);
-            }
-            
-            // Volume section
-            g2.setFont(getFont().deriveFont(Font.BOLD, 18f));
-            String volumeLabel = "Volume: " + gameSettings.getVolume() + "%";
-            fm = g2.getFontMetrics();
-            r2 = fm.getStringBounds(volumeLabel, g2);
-            textWidth = r2.getWidth();
-            x = (width - textWidth) / 2;
-            g2.drawString(volumeLabel, (int) x, 260);
-            
-            // Volume slider
-            int sliderWidth = 300;
-            int sliderHeight = 20;
-            int sliderX = (width - sliderWidth) / 2;
-            int volumeSliderY = 270; // Changed from 280 to 270
-            g2.setColor(Color.DARK_GRAY);
-            g2.fillRect(sliderX, volumeSliderY, sliderWidth, sliderHeight);
-            g2.setColor(Color.GREEN);
-            int fillWidth = (int)(sliderWidth * (gameSettings.getVolume() / 100.0));
-            g2.fillRect(sliderX, volumeSliderY, fillWidth, sliderHeight);
-            g2.setColor(Color.WHITE);
-            g2.drawRect(sliderX, volumeSliderY, sliderWidth, sliderHeight);
-            
-            // Brightness section
-            g2.setFont(getFont().deriveFont(Font.BOLD, 18f));
-            String brightnessLabel = "Brightness: " + gameSettings.getBrightness() + "%";
-            fm = g2.getFontMetrics();
-            r2 = fm.getStringBounds(brightnessLabel, g2);
-            textWidth = r2.getWidth();
-            x = (width - textWidth) / 2;
-            g2.drawString(brightnessLabel, (int) x, 320); // Changed from 330 to 320
-            
-            // Brightness slider
-            int brightnessSliderY = 330; // Changed from 350 to 330
-            g2.setColor(Color.DARK_GRAY);
-            g2.fillRect(sliderX, brightnessSliderY, sliderWidth, sliderHeight);
-            g2.setColor(Color.YELLOW);
-            fillWidth = (int)(sliderWidth * (gameSettings.getBrightness() / 100.0));
-            g2.fillRect(sliderX, brightnessSliderY, fillWidth, sliderHeight);
-            g2.setColor(Color.WHITE);
-            g2.drawRect(sliderX, brightnessSliderY, sliderWidth, sliderHeight);
-            
-            drawButton(g2, "Resume Game", width / 2, 400); // Adjusted button positions
-            drawButton(g2, "Restart Game", width / 2, 450);
-            drawButton(g2, "Main Menu", width / 2, 500);
-            
-            g2.setFont(getFont().deriveFont(Font.PLAIN, 14f));
-            String instructions = "Click on buttons or sliders to interact";
-            fm = g2.getFontMetrics();
-            r2 = fm.getStringBounds(instructions, g2);
-            textWidth = r2.getWidth();
-            x = (width - textWidth) / 2;
-            g2.drawString(instructions, (int) x, 560); // Adjusted instruction positions
-            
-            String instructions2 = "Press ESC to return to main menu";
-            fm = g2.getFontMetrics();
-            r2 = fm.getStringBounds(instructions2, g2);
-            textWidth = r2.getWidth();
-            x = (width - textWidth) / 2;
-            g2.drawString(instructions2, (int) x, 580);
+            hud.drawPause(g2, width, height, gameSettings.getDifficulty(), gameSettings.getVolume(),
+                    gameSettings.getBrightness(), ultimateActive, ultimateTimer);
         }
         
-        if (!player.isAlive()) {
-            String text = "GAME OVER";
-            String textKey = "Press key enter to Continue ...";
-            String scoreText = "Final Score: " + score;
-            
-            // Draw GAME OVER text
-            g2.setFont(getFont().deriveFont(Font.BOLD, 50f));
-            FontMetrics fm = g2.getFontMetrics();
-            Rectangle2D r2 = fm.getStringBounds(text, g2);
-            double textWidth = r2.getWidth();
-            double x = (width - textWidth) / 2;
-            double y = (height / 2) - 100; // Position higher up
-            g2.drawString(text, (int) x, (int) y);
-            
-            // Show final score with proper spacing
-            g2.setFont(getFont().deriveFont(Font.BOLD, 24f));
-            fm = g2.getFontMetrics();
-            r2 = fm.getStringBounds(scoreText, g2);
-            textWidth = r2.getWidth();
-            x = (width - textWidth) / 2;
-            y += 80; // Add spacing from GAME OVER text
-            g2.drawString(scoreText, (int) x, (int) y);
-            
-            // Show if it's a new best score
-            if (score > bestScore && score > 0) {
-                g2.setColor(Color.YELLOW);
-                String newBestText = "NEW PERSONAL BEST!";
-                g2.setFont(getFont().deriveFont(Font.BOLD, 20f));
-                fm = g2.getFontMetrics();
-                r2 = fm.getStringBounds(newBestText, g2);
-                textWidth = r2.getWidth();
-                x = (width - textWidth) / 2;
-                y += 40; // Add spacing from score text
-                g2.drawString(newBestText, (int) x, (int) y);
-                g2.setColor(Color.WHITE);
-            }
-            
-            // Show continue instruction
-            g2.setFont(getFont().deriveFont(Font.BOLD, 15f));
-            fm = g2.getFontMetrics();
-            r2 = fm.getStringBounds(textKey, g2);
-            textWidth = r2.getWidth();
-            x = (width - textWidth) / 2;
-            y += 60; // Add spacing from previous text
-            g2.drawString(textKey, (int) x, (int) y);
-            
-            // Show ESC option
-            String escText = "Press ESC to return to main menu";
-            g2.setFont(getFont().deriveFont(Font.PLAIN, 12f));
-            fm = g2.getFontMetrics();
-            r2 = fm.getStringBounds(escText, g2);
-            textWidth = r2.getWidth();
-            x = (width - textWidth) / 2;
-            y += 30; // Add spacing from continue text
-            g2.drawString(escText, (int) x, (int) y);
+        if (!snapshot.isPlayerAlive()) {
+            hud.drawGameOver(g2, width, height, score, bestScore);
         }
     }
     
-    private void drawButton(Graphics2D g2, String text, int centerX, int y) {
-        int buttonWidth = 200;
-        int buttonHeight = 40;
-        int x = centerX - buttonWidth / 2;
-        
-        g2.setColor(new Color(60, 60, 60));
-        g2.fillRect(x, y, buttonWidth, buttonHeight);
-        
-        g2.setColor(new Color(120, 120, 120));
-        g2.drawRect(x, y, buttonWidth, buttonHeight);
-        
-        g2.setColor(Color.WHITE);
-        g2.setFont(getFont().deriveFont(Font.BOLD, 16f));
-        FontMetrics fm = g2.getFontMetrics();
-        Rectangle2D r2 = fm.getStringBounds(text, g2);
-        double textWidth = r2.getWidth();
-        double textHeight = r2.getHeight();
-        double textX = centerX - textWidth / 2;
-        double textY = y + (buttonHeight - textHeight) / 2 + fm.getAscent();
-        g2.drawString(text, (int) textX, (int) textY);
-    }
-
-    private void render() {
-        Graphics g = getGraphics();
-        if (g != null) {
-            g.drawImage(image, 0, 0, null);
-            g.dispose();
-        }
-    }
-
-    private void sleep(long speed) {
-        try {
-            Thread.sleep(speed);
-        } catch (InterruptedException ex) {
-            System.err.println(ex);
+    private void drawDebugHud(WorldSnapshot snapshot) {
+        FrameStats stats = loop.getFrameStats();
+        g2.setColor(Color.GREEN);
+        g2.setFont(getFont().deriveFont(Font.PLAIN, 12f));
+        StringBuilder explosions = new StringBuilder("Explosions:");
+        for (ExplosionPreset preset : ExplosionPreset.getAll()) {
+            explosions.append(String.format("  %s %d (%d particles)", preset.getName(), preset.getSpawnCount(), preset.getEmittedCount()));
         }
+        g2.drawString(explosions.toString(), 10, height - 94);
+        g2.drawString(String.format("Quality: level %d/%d (%s%s)  work %.0f%% of budget  changes: %d",
+                governor.getLevelIndex(), governor.getLevelCount() - 1, governor.getLevel().getChange(),
+                governor.isEnabled() ? "" : ", governor off", governor.getLoad() * 100, governor.getChangeCount()),
+                10, height - 76);
+        g2.drawString(String.format("Frame: avg %.2f ms  p99 %.2f ms  max %.2f ms  (target %d FPS)  Scale: %d%%  Text repaints: %d",
+                stats.getAverageMillis(), stats.getP99Millis(), stats.getMaxMillis(), frameRate, surface.getScale(),
+                hud.getRebuilds()), 10, height - 58);
+        g2.drawString(String.format("Ticks: %d Hz%s  Rockets: %d  Bullets: %d  Particles: %d",
+                loop.getTickRate(), loop.isPipelined() ? " (pipelined)" : "",
+                snapshot.getRocketCount(), snapshot.getBulletCount(), snapshot.getParticleCount()), 10, height - 40);
+        g2.drawString(String.format("Pools: rockets %d live / %d pooled / %d allocated  particles %d / %d capacity  %s",
+                snapshot.getRocketCount(), snapshot.getRocketsPooled(), snapshot.getRocketsAllocated(),
+                snapshot.getParticleCount(), snapshot.getParticleCapacity(), sound.getStatus()),
+                10, height - 22);
     }
     
     public void togglePause() {
@@ -879,9 +570,13 @@ public class PanelGame extends JComponent {
         this.width = width;
         this.height = height;
         
+        if (canvas != null) {
+            canvas.setBounds(0, 0, width, height);
+        }
+        
         // Update player screen bounds when window size changes
-        if (player != null) {
-            player.setScreenBounds(width, height);
+        if (world != null && replay == null) {
+            world.setBounds(width, height);
         }
     }
     
@@ -0,0 +1,264 @@
+package game.component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Steps render quality down when frames run over budget and back up when
+ * there is headroom again.
+ * <p>
+ * Work time (render plus the ticks run for that frame, or the busier of the
+ * two threads when pipelined) is averaged over windows of half a second and
+ * compared with the frame budget. Stepping down needs two heavy windows in a
+ * row, stepping up needs several light ones, and every step waits one window
+ * to settle. If a step up has to be taken back soon after, the next attempt
+ * waits twice as long, so a level the machine can't hold isn't retried every
+ * couple of seconds. Every change is logged to stdout.
+ * <p>
+ * Render scale rungs are caps on the user's live setting, not fixed
+ * scales. A rung whose cap would not lower the scale the user has right
+ * now is skipped in both directions, so every step changes something.
+ */
+public class QualityGovernor {
+
+    // One rung of the quality ladder, index 0 is full quality
+    public static class Level {
+
+        private final String change;
+        private final boolean antialiasing;
+        private final boolean smoothImages;
+        private final float particleDensity;
+        private final int renderScale;
+
+        private Level(String change, boolean antialiasing, boolean smoothImages, float particleDensity, int renderScale) {
+            this.change = change;
+            this.antialiasing = antialiasing;
+            this.smoothImages = smoothImages;
+            this.particleDensity = particleDensity;
+            this.renderScale = renderScale;
+        }
+
+        // What this level turns down compared to the one above it
+        public String getChange() {
+            return change;
+        }
+
+        public boolean isAntialiasing() {
+            return antialiasing;
+        }
+
+        // Bilinear rather than nearest-neighbour image interpolation
+        public boolean isSmoothImages() {
+            return smoothImages;
+        }
+
+        public float getParticleDensity() {
+            return particleDensity;
+        }
+
+        // Cap on the user's render scale, the surface uses the lower of the two
+        public int getRenderScale() {
+            return renderScale;
+        }
+    }
+
+    private static final int WINDOW_FRAMES = 30;
+    //  Share of the frame budget
+    private static final double DOWNGRADE_LOAD = 0.9;
+    private static final double UPGRADE_LOAD = 0.6;
+    //  In windows
+    private static final int DOWNGRADE_WINDOWS = 2;
+    private static final int UPGRADE_WINDOWS = 4;
+    private static final int MAX_UPGRADE_WINDOWS = 64;
+    // A downgrade this soon after an upgrade means the upgrade didn't hold
+    private static final int FAILED_UPGRADE_WINDOWS = 8;
+
+    private final List<Level> levels = new ArrayList<>();
+    private final long frameBudget;
+    private final boolean pipelined;
+    private volatile int level;
+    private volatile boolean enabled = true;
+    // The user's render scale setting, it can change mid-game
+    private volatile int renderScale = ScaledSurface.MAX_SCALE;
+
+    //  Window state, only touched by the render thread
+    private long windowRender;
+    private long windowStart;
+    private long windowTickStart;
+    private int windowFrames;
+    private int heavyWindows;
+    private int lightWindows;
+    private int settleWindows;
+    private int upgradeWindows = UPGRADE_WINDOWS;
+    private int windowsSinceUpgrade = Integer.MAX_VALUE;
+    private double lastLoad;
+    private int changes;
+
+    //  Written by the tick thread only
+    private volatile long tickNanos;
+
+    // Antialiasing is only dropped on accelerated backends, in the software
+    // pipeline non-AA shape fills measured slower than antialiased ones
+    public QualityGovernor(int frameRate, boolean pipelined, boolean accelerated) {
+        this.frameBudget = 1_000_000_000L / frameRate;
+        this.pipelined = pipelined;
+        Level full = new Level("full quality", true, true, 1f, ScaledSurface.MAX_SCALE);
+        levels.add(full);
+        Level last = add("fewer particles", full.antialiasing, full.smoothImages, 0.6f, full.renderScale);
+        last = add("nearest-neighbour images", last.antialiasing, false, last.particleDensity, last.renderScale);
+        last = add("render scale 75%", last.antialiasing, last.smoothImages, last.particleDensity, 75);
+        last = add("minimal particles", last.antialiasing, last.smoothImages, 0.3f, last.renderScale);
+        last = add("render scale 50%", last.antialiasing, last.smoothImages, last.particleDensity, ScaledSurface.MIN_SCALE);
+        if (accelerated) {
+            add("antialiasing off", false, last.smoothImages, last.particleDensity, last.renderScale);
+        }
+    }
+
+    private Level add(String change, boolean antialiasing, boolean smoothImages, float particleDensity, int renderScale) {
+        Level next = new Level(change, antialiasing, smoothImages, particleDensity, renderScale);
+        levels.add(next);
+        return next;
+    }
+
+    // Called on the tick thread after every tick
+    public void recordTick(long nanos) {
+        tickNanos += nanos;
+    }
+
+    // Called on the render thread after every frame with that frame's render time
+    public void recordFrame(long renderNanos) {
+        long now = System.nanoTime();
+        if (windowStart == 0) {
+            windowStart = now;
+            windowTickStart = tickNanos;
+            return;
+        }
+        windowRender += renderNanos;
+        if (++windowFrames < WINDOW_FRAMES) {
+            return;
+        }
+        long ticks = tickNanos - windowTickStart;
+        double renderLoad = windowRender / (double) windowFrames / frameBudget;
+        double tickLoad = ticks / (double) windowFrames / frameBudget;
+        if (pipelined) {
+            // The tick thread is busy for this share of wall time, at 100% it falls behind
+            lastLoad = Math.max(renderLoad, ticks / (double) Math.max(1, now - windowStart));
+        } else {
+            lastLoad = renderLoad + tickLoad;
+        }
+        windowRender = 0;
+        windowFrames = 0;
+        windowStart = now;
+        windowTickStart = tickNanos;
+        evaluate(lastLoad);
+    }
+
+    private void evaluate(double load) {
+        if (windowsSinceUpgrade < Integer.MAX_VALUE) {
+            windowsSinceUpgrade++;
+        }
+        if (!enabled) {
+            return;
+        }
+        if (settleWindows > 0) {
+            settleWindows--;
+            return;
+        }
+        heavyWindows = load > DOWNGRADE_LOAD ? heavyWindows + 1 : 0;
+        lightWindows = load < UPGRADE_LOAD ? lightWindows + 1 : 0;
+        int lower = lowerLevel();
+        int higher = higherLevel();
+        if (heavyWindows >= DOWNGRADE_WINDOWS && lower >= 0) {
+            if (windowsSinceUpgrade <= FAILED_UPGRADE_WINDOWS) {
+                upgradeWindows = Math.min(MAX_UPGRADE_WINDOWS, upgradeWindows * 2);
+            }
+            setLevel(lower, load);
+        } else if (lightWindows >= upgradeWindows && higher >= 0) {
+            windowsSinceUpgrade = 0;
+            setLevel(higher, load);
+        }
+    }
+
+    // Next level down that changes something at the current setting, -1 if none
+    private int lowerLevel() {
+        for (int i = level + 1; i < levels.size(); i++) {
+            if (!isNoOp(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Next level up that changes something, -1 at full quality
+    private int higherLevel() {
+        for (int i = level; i > 0; i--) {
+            if (!isNoOp(i)) {
+                return i - 1;
+            }
+        }
+        return -1;
+    }
+
+    // A scale rung whose cap is no lower than what the setting already gives
+    private boolean isNoOp(int index) {
+        Level rung = levels.get(index);
+        Level above = levels.get(index - 1);
+        return rung.renderScale != above.renderScale
+                && Math.min(renderScale, rung.renderScale) == Math.min(renderScale, above.renderScale);
+    }
+
+    // Called whenever the setting changes, rungs are skipped against this value
+    public void setRenderScale(int renderScale) {
+        this.renderScale = renderScale;
+    }
+
+    private void setLevel(int next, double load) {
+        String direction = next > level ? "down" : "up";
+        String change = next > level ? levels.get(next).change : "restored " + levels.get(level).change;
+        level = next;
+        heavyWindows = 0;
+        lightWindows = 0;
+        settleWindows = 1;
+        changes++;
+        System.out.printf("Quality %s to level %d/%d: %s (work %.0f%% of %.1f ms budget)%n",
+                direction, next, levels.size() - 1, change, load * 100, frameBudget / 1_000_000.0);
+    }
+
+    // Turning the governor off goes straight back to full quality
+    public void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
+            return;
+        }
+        this.enabled = enabled;
+        if (!enabled && level > 0) {
+            level = 0;
+            changes++;
+            System.out.println("Quality governor off, back to full quality");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Level getLevel() {
+        return levels.get(level);
+    }
+
+    public int getLevelIndex() {
+        return level;
+    }
+
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    // Work time of the last window as a share of the frame budget
+    public double getLoad() {
+        return lastLoad;
+    }
+
+    public int getChangeCount() {
+        return changes;
+    }
+}
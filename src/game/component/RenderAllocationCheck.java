@@ -0,0 +1,109 @@
+package game.component;
+
+import game.obj.BulletStore;
+import game.obj.ExplosionPreset;
+import game.obj.ParticleRenderer;
+import game.obj.ParticleSystem;
+import game.obj.Player;
+import game.obj.Rocket;
+import game.util.AssetRegistry;
+import game.util.EntityArena;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Checks that drawing a world snapshot allocates nothing once warmed up.
+ * A fixed scene (player, rockets with damaged HP bars, normal and ultimate
+ * bullets, explosion particles) is drawn into an offscreen image over and
+ * over, and the allocated bytes per frame are read with ThreadMXBean.
+ * Exits with status 1 if any measured frame allocated.
+ * Run with java -Djava.awt.headless=true -cp dist/plane-game.jar game.component.RenderAllocationCheck
+ */
+public class RenderAllocationCheck {
+
+    private static final int WIDTH = 1366;
+    private static final int HEIGHT = 768;
+    private static final int WARMUP_FRAMES = 2000;
+    private static final int MEASURED_FRAMES = 500;
+
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        Player.prepareSprites(2);
+        Rocket.prepareSprites(2);
+
+        WorldSnapshot snapshot = createScene();
+        ParticleRenderer particleRenderer = new ParticleRenderer();
+        BufferedImage image = AssetRegistry.createCompatibleImage(WIDTH, HEIGHT);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            snapshot.drawEntities(g2, particleRenderer);
+        }
+        long worst = 0;
+        long total = 0;
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            snapshot.drawEntities(g2, particleRenderer);
+            long allocated = threads.getThreadAllocatedBytes(thread) - before;
+            worst = Math.max(worst, allocated);
+            total += allocated;
+        }
+        g2.dispose();
+
+        System.out.printf("Rockets: %d, bullets: %d, particles: %d%n",
+                snapshot.getRocketCount(), snapshot.getBulletCount(), snapshot.getParticleCount());
+        System.out.printf("Allocated per frame: avg %d bytes, max %d bytes%n", total / MEASURED_FRAMES, worst);
+        if (worst > 0) {
+            System.err.println("FAIL: drawing a frame allocated memory");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static WorldSnapshot createScene() {
+        Random ran = new Random(1);
+        Player player = new Player();
+        player.changeLocation(300, 300);
+        player.updateHP(10);
+
+        EntityArena<Rocket> rockets = new EntityArena<>(Rocket::new);
+        for (int i = 0; i < 50; i++) {
+            Rocket rocket = rockets.spawn();
+            rocket.changeLocation(ran.nextInt(WIDTH), ran.nextInt(HEIGHT));
+            rocket.changeAngle(ran.nextInt(360));
+            rocket.setMaxHP(20);
+            if (i % 2 == 0) {
+                rocket.updateHP(5);
+            }
+        }
+
+        BulletStore bullets = new BulletStore();
+        for (int i = 0; i < 200; i++) {
+            bullets.spawn(ran.nextInt(WIDTH), ran.nextInt(HEIGHT), ran.nextInt(360), i % 5 == 0 ? 20 : 5, 0f);
+        }
+
+        ParticleSystem particles = new ParticleSystem();
+        for (int i = 0; i < 50; i++) {
+            particles.emit(ExplosionPreset.ROCKET_DESTROYED, ran.nextInt(WIDTH), ran.nextInt(HEIGHT));
+        }
+        // Spread the particles over their lifetime so every alpha level is drawn
+        for (int i = 0; i < 10; i++) {
+            particles.update(0.02);
+            particles.emit(ExplosionPreset.BULLET_HIT, ran.nextInt(WIDTH), ran.nextInt(HEIGHT));
+        }
+
+        WorldSnapshot snapshot = new WorldSnapshot();
+        snapshot.capturePlayer(player);
+        snapshot.captureRockets(rockets);
+        snapshot.captureBullets(bullets);
+        snapshot.captureParticles(particles);
+        return snapshot;
+    }
+}
@@ -0,0 +1,12 @@
+package game.component;
+
+import java.awt.Graphics2D;
+
+public interface RenderSurface {
+
+    // Graphics for the next frame, or null if the surface can't be drawn to right now
+    Graphics2D beginFrame(int width, int height);
+
+    // Put the frame on screen, a frame whose contents were lost is dropped
+    void show();
+}
@@ -0,0 +1,83 @@
+package game.component;
+
+import game.util.AssetRegistry;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Render-scale wrapper around another surface. Below 100% the frame is
+ * rasterized into a smaller opaque buffer through a scaled Graphics2D, so
+ * callers keep drawing in logical coordinates, and the buffer is stretched
+ * onto the real surface once when the frame is shown.
+ * <p>
+ * Smooth upscaling is only worth it when the target is accelerated. In
+ * software a bilinear stretch of a 1080p frame costs about 30 ms, more than
+ * the smaller buffer saves, while nearest neighbour costs about 2 ms.
+ */
+public class ScaledSurface implements RenderSurface {
+
+    public static final int MIN_SCALE = 50;
+    public static final int MAX_SCALE = 100;
+
+    private final RenderSurface target;
+    private final Object interpolation;
+    private volatile int scalePercent = MAX_SCALE;
+    private BufferedImage image;
+    private Graphics2D g2;
+    private boolean scaled;
+    private int width;
+    private int height;
+
+    public ScaledSurface(RenderSurface target, boolean smooth) {
+        this.target = target;
+        this.interpolation = smooth ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+                : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+    }
+
+    // Picked up at the start of the next frame, safe to call from any thread
+    public void setScale(int percent) {
+        scalePercent = Math.max(MIN_SCALE, Math.min(MAX_SCALE, percent));
+    }
+
+    public int getScale() {
+        return scalePercent;
+    }
+
+    @Override
+    public Graphics2D beginFrame(int width, int height) {
+        int percent = scalePercent;
+        scaled = percent < MAX_SCALE && width > 0 && height > 0;
+        if (!scaled) {
+            return target.beginFrame(width, height);
+        }
+        this.width = width;
+        this.height = height;
+        int scaledWidth = Math.max(1, Math.round(width * percent / 100f));
+        int scaledHeight = Math.max(1, Math.round(height * percent / 100f));
+        if (image == null || image.getWidth() != scaledWidth || image.getHeight() != scaledHeight) {
+            image = AssetRegistry.createCompatibleImage(scaledWidth, scaledHeight, Transparency.OPAQUE);
+        }
+        g2 = image.createGraphics();
+        g2.scale(scaledWidth / (double) width, scaledHeight / (double) height);
+        return g2;
+    }
+
+    @Override
+    public void show() {
+        if (!scaled) {
+            target.show();
+            return;
+        }
+        g2.dispose();
+        Graphics2D screen = target.beginFrame(width, height);
+        if (screen == null) {
+            return;
+        }
+        screen.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        screen.drawImage(image, 0, 0, width, height, null);
+        target.show();
+    }
+}
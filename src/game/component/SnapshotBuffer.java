@@ -0,0 +1,43 @@
+package game.component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free triple buffer between the simulation and render threads.
+ * The writer always owns one snapshot, the reader owns another and the
+ * third sits in the middle holding the most recently published tick,
+ * so neither side ever waits for the other.
+ */
+public class SnapshotBuffer {
+
+    private final AtomicReference<WorldSnapshot> middle;
+    private WorldSnapshot back;
+    private WorldSnapshot front;
+    private long published;
+
+    public SnapshotBuffer() {
+        back = new WorldSnapshot();
+        front = new WorldSnapshot();
+        middle = new AtomicReference<>(new WorldSnapshot());
+    }
+
+    // Writer side: the snapshot to fill for the current tick
+    public WorldSnapshot beginWrite() {
+        return back;
+    }
+
+    // Writer side: make the filled snapshot visible and take a free one back
+    public void publish() {
+        back.setSequence(++published);
+        back = middle.getAndSet(back);
+    }
+
+    // Reader side: newest published snapshot, or the previous one if nothing new arrived.
+    // A sequence of 0 means nothing has been published yet.
+    public WorldSnapshot acquire() {
+        if (middle.get().getSequence() > front.getSequence()) {
+            front = middle.getAndSet(front);
+        }
+        return front;
+    }
+}
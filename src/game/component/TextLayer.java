@@ -0,0 +1,45 @@
+package game.component;
+
+import game.util.AssetRegistry;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Translucent image holding a block of pre-rendered text.
+ * The owner repaints it through begin() only when the content changes, and
+ * every other frame just blits it with draw().
+ */
+public class TextLayer {
+
+    private BufferedImage image;
+    private int rebuilds;
+
+    // Cleared graphics for repainting the layer, the caller must dispose it
+    public Graphics2D begin(int width, int height) {
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = AssetRegistry.createCompatibleImage(Math.max(1, width), Math.max(1, height));
+        }
+        Graphics2D g2 = image.createGraphics();
+        g2.setComposite(AlphaComposite.Clear);
+        g2.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g2.setComposite(AlphaComposite.SrcOver);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        rebuilds++;
+        return g2;
+    }
+
+    public void draw(Graphics2D g2, int x, int y) {
+        if (image != null) {
+            g2.drawImage(image, x, y, null);
+        }
+    }
+
+    // How many times the layer was repainted, for the debug HUD
+    public int getRebuilds() {
+        return rebuilds;
+    }
+}
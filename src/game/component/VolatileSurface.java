@@ -0,0 +1,51 @@
+package game.component;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.awt.image.VolatileImage;
+
+// Accelerated back buffer, still presented through the component's Graphics
+public class VolatileSurface implements RenderSurface {
+
+    private final Component component;
+    private VolatileImage image;
+    private Graphics2D g2;
+
+    public VolatileSurface(Component component) {
+        this.component = component;
+    }
+
+    @Override
+    public Graphics2D beginFrame(int width, int height) {
+        GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        if (gc == null || width <= 0 || height <= 0) {
+            return null;
+        }
+        if (image == null || image.getWidth() != width || image.getHeight() != height
+                || image.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (image != null) {
+                image.flush();
+            }
+            image = gc.createCompatibleVolatileImage(width, height);
+        }
+        g2 = image.createGraphics();
+        return g2;
+    }
+
+    @Override
+    public void show() {
+        g2.dispose();
+        if (image.contentsLost()) {
+            return;
+        }
+        Graphics g = component.getGraphics();
+        if (g != null) {
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+}
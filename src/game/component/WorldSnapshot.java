@@ -0,0 +1,213 @@
+package game.component;
+
+import game.obj.Bullet;
+import game.obj.BulletStore;
+import game.obj.ParticleRenderer;
+import game.obj.ParticleSystem;
+import game.obj.Player;
+import game.obj.Rocket;
+import game.util.EntityArena;
+
+import java.awt.Graphics2D;
+
+/**
+ * Copy of everything the renderer needs from one simulation tick.
+ * Instances are recycled by SnapshotBuffer, but once published a snapshot
+ * is never written again until the render thread has handed it back.
+ */
+public class WorldSnapshot {
+
+    private long sequence;
+
+    //  Player
+    private boolean playerAlive;
+    private boolean playerSpeedUp;
+    private double playerX;
+    private double playerY;
+    private float playerAngle;
+    private double playerHpBarY;
+    private double playerHp;
+    private double playerMaxHp;
+
+    //  Rockets
+    private int rocketCount;
+    private double[] rocketX = new double[16];
+    private double[] rocketY = new double[16];
+    private float[] rocketAngle = new float[16];
+    private double[] rocketHpBarY = new double[16];
+    private double[] rocketHp = new double[16];
+    private double[] rocketMaxHp = new double[16];
+
+    //  Bullets
+    private int bulletCount;
+    private double[] bulletX = new double[64];
+    private double[] bulletY = new double[64];
+    private double[] bulletSize = new double[64];
+    private boolean[] bulletUltimate = new boolean[64];
+
+    //  Particles, with alpha already folded into the batch key
+    private int particleCount;
+    private float[] particleX = new float[256];
+    private float[] particleY = new float[256];
+    private float[] particleSize = new float[256];
+    private short[] particleKey = new short[256];
+
+    //  Pool counters for the debug HUD
+    private int rocketsPooled;
+    private long rocketsAllocated;
+    private int particleCapacity;
+
+    //  HUD
+    private int score;
+    private int ultimateCharges;
+    private boolean ultimateActive;
+    private double ultimateTimer;
+
+    public void capturePlayer(Player player) {
+        playerAlive = player.isAlive();
+        playerSpeedUp = player.isSpeedUp();
+        playerX = player.getX();
+        playerY = player.getY();
+        playerAngle = player.getAngle();
+        playerHpBarY = player.getHpBarY();
+        playerHp = player.getHP();
+        playerMaxHp = player.getHPObject().getMAX_HP();
+    }
+
+    public void captureRockets(EntityArena<Rocket> rockets) {
+        int count = rockets.size();
+        if (count > rocketX.length) {
+            int capacity = Math.max(count, rocketX.length * 2);
+            rocketX = new double[capacity];
+            rocketY = new double[capacity];
+            rocketAngle = new float[capacity];
+            rocketHpBarY = new double[capacity];
+            rocketHp = new double[capacity];
+            rocketMaxHp = new double[capacity];
+        }
+        for (int i = 0; i < count; i++) {
+            Rocket rocket = rockets.get(i);
+            rocketX[i] = rocket.getX();
+            rocketY[i] = rocket.getY();
+            rocketAngle[i] = rocket.getAngle();
+            rocketHpBarY[i] = rocket.getHpBarY();
+            rocketHp[i] = rocket.getHP();
+            rocketMaxHp[i] = rocket.getHPObject().getMAX_HP();
+        }
+        rocketCount = count;
+    }
+
+    public void captureBullets(BulletStore bullets) {
+        int count = bullets.size();
+        if (count > bulletX.length) {
+            int capacity = Math.max(count, bulletX.length * 2);
+            bulletX = new double[capacity];
+            bulletY = new double[capacity];
+            bulletSize = new double[capacity];
+            bulletUltimate = new boolean[capacity];
+        }
+        for (int i = 0; i < count; i++) {
+            bulletX[i] = bullets.getX(i);
+            bulletY[i] = bullets.getY(i);
+            bulletSize[i] = bullets.getSize(i);
+            bulletUltimate[i] = bullets.isUltimate(i);
+        }
+        bulletCount = count;
+    }
+
+    public void captureParticles(ParticleSystem particles) {
+        int count = particles.size();
+        if (count > particleX.length) {
+            int capacity = Math.max(count, particleX.length * 2);
+            particleX = new float[capacity];
+            particleY = new float[capacity];
+            particleSize = new float[capacity];
+            particleKey = new short[capacity];
+        }
+        for (int i = 0; i < count; i++) {
+            particleX[i] = particles.getX(i);
+            particleY[i] = particles.getY(i);
+            particleSize[i] = particles.getSize(i);
+            particleKey[i] = (short) particles.getKey(i);
+        }
+        particleCount = count;
+        particleCapacity = particles.getCapacity();
+    }
+
+    public void capturePools(EntityArena<Rocket> rockets) {
+        rocketsPooled = rockets.getPooledCount();
+        rocketsAllocated = rockets.getAllocatedCount();
+    }
+
+    public void captureHud(int score, int ultimateCharges, boolean ultimateActive, double ultimateTimer) {
+        this.score = score;
+        this.ultimateCharges = ultimateCharges;
+        this.ultimateActive = ultimateActive;
+        this.ultimateTimer = ultimateTimer;
+    }
+
+    public void drawEntities(Graphics2D g2, ParticleRenderer particleRenderer) {
+        if (playerAlive) {
+            Player.draw(g2, playerSpeedUp, playerX, playerY, playerAngle, playerHpBarY, playerHp, playerMaxHp);
+        }
+        for (int i = 0; i < bulletCount; i++) {
+            Bullet.draw(g2, bulletX[i], bulletY[i], bulletSize[i], bulletUltimate[i]);
+        }
+        for (int i = 0; i < rocketCount; i++) {
+            Rocket.draw(g2, rocketX[i], rocketY[i], rocketAngle[i], rocketHpBarY[i], rocketHp[i], rocketMaxHp[i]);
+        }
+        particleRenderer.draw(g2, particleX, particleY, particleSize, particleKey, particleCount);
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public boolean isPlayerAlive() {
+        return playerAlive;
+    }
+
+    public int getRocketCount() {
+        return rocketCount;
+    }
+
+    public int getBulletCount() {
+        return bulletCount;
+    }
+
+    public int getParticleCount() {
+        return particleCount;
+    }
+
+    public int getRocketsPooled() {
+        return rocketsPooled;
+    }
+
+    public long getRocketsAllocated() {
+        return rocketsAllocated;
+    }
+
+    public int getParticleCapacity() {
+        return particleCapacity;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getUltimateCharges() {
+        return ultimateCharges;
+    }
+
+    public boolean isUltimateActive() {
+        return ultimateActive;
+    }
+
+    public double getUltimateTimer() {
+        return ultimateTimer;
+    }
+}
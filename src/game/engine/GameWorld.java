@@ -0,0 +1,551 @@
+package game.engine;
+
+import game.collision.Collision;
+import game.collision.SpatialGrid;
+import game.obj.BulletStore;
+import game.obj.ExplosionPreset;
+import game.obj.ParticleSystem;
+import game.obj.Player;
+import game.obj.Rocket;
+import game.util.DifficultySettings;
+import game.util.EntityArena;
+
+import java.util.Random;
+
+/**
+ * The whole simulation: player, rockets, bullets, particles, collisions,
+ * scoring, the ultimate and rocket spawning, advanced in fixed steps by
+ * tick(). Nothing here needs a window, a Graphics2D or an audio device, so
+ * it runs the same under PanelGame and in a headless benchmark.
+ * <p>
+ * All state belongs to the thread calling tick(). Input arrives through
+ * getKey(), whose flags are volatile, and results leave through the getters
+ * and the Listener. Changes from other threads (restart, releasing keys,
+ * size, difficulty) only take effect at the start of the next tick.
+ * <p>
+ * Given the same seed, settings and per-tick input bits, step() always
+ * produces the same world, which is what replays rely on. Rockets and
+ * particles draw from separate random streams, so particle density can
+ * change with the quality level without touching gameplay, and the trig
+ * that moves things uses StrictMath so results don't depend on the JVM.
+ */
+public class GameWorld {
+
+    // Score events the owner may want to persist
+    public interface Listener {
+
+        void playerDestroyed(int score);
+
+        // Called before the world is cleared for a new game
+        void gameRestarting(int score);
+    }
+
+    //  Simulation tuning, in seconds and pixels per second
+    private static final float ROTATION_SPEED = 100f; // degrees per second
+    private static final double SHOT_INTERVAL = 0.075;
+    private static final float NORMAL_BULLET_SPEED = 600f;
+    private static final float ULTIMATE_BULLET_SPEED = 1000f;
+    private static final double ULTIMATE_DURATION = 5.0; // seconds
+
+    //  Mixed into the seed for the particle stream
+    private static final long PARTICLE_STREAM = 0x9E3779B97F4A7C15L;
+
+    private final SoundSink sound;
+    private final Key key = new Key();
+    private final long seed;
+    private final Random ran;
+    private Listener listener;
+    private InputRecorder recorder;
+    private DifficultySettings.DifficultyConfig difficulty;
+    private int width;
+    private int height;
+    private double dt;
+    private long tickCount;
+
+    //  Set from other threads, applied by the next tick
+    private volatile DifficultySettings.DifficultyConfig pendingDifficulty;
+    private volatile long pendingBounds = -1;
+    private volatile boolean restartPending;
+    private volatile boolean releasePending;
+
+    //  Game Object
+    private final Player player;
+    private final BulletStore bullets = new BulletStore();
+    private final EntityArena<Rocket> rockets = new EntityArena<>(Rocket::new);
+    private final ParticleSystem particles = new ParticleSystem();
+    //  Broad phase over this tick's rockets, ids are rocket indices
+    private final SpatialGrid rocketGrid = new SpatialGrid(64);
+    private double shotCooldown;
+    private double rocketSpawnTimer;
+    private int input;
+    private int score = 0;
+
+    // Ultimate system - 5 seconds duration
+    private int ultimateCharges = 0;
+    private boolean ultimateActive = false;
+    private double ultimateTimer = 0;
+
+    public GameWorld(int width, int height, DifficultySettings.DifficultyConfig difficulty, SoundSink sound) {
+        this(width, height, difficulty, sound, new Random().nextLong());
+    }
+
+    public GameWorld(int width, int height, DifficultySettings.DifficultyConfig difficulty, SoundSink sound, long seed) {
+        this.difficulty = difficulty;
+        this.sound = sound;
+        this.seed = seed;
+        ran = new Random(seed);
+        particles.setSeed(seed ^ PARTICLE_STREAM);
+        player = new Player();
+        applyBounds(width, height);
+        resetWorld();
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // Must be set before the first tick, the log starts from the world's initial state
+    public void setRecorder(InputRecorder recorder) {
+        if (tickCount != 0) {
+            throw new IllegalStateException("Recording has to start before the first tick");
+        }
+        this.recorder = recorder;
+    }
+
+    // Used for new rockets and the next player, like a settings change mid-game always was
+    public void setDifficulty(DifficultySettings.DifficultyConfig difficulty) {
+        pendingDifficulty = difficulty;
+    }
+
+    public void setBounds(int width, int height) {
+        pendingBounds = (long) width << 32 | (height & 0xFFFFFFFFL);
+    }
+
+    // Starts a new game at the next tick
+    public void requestRestart() {
+        restartPending = true;
+    }
+
+    // Releases every key now and resets the shot cooldown at the next tick,
+    // so nothing stays held across a pause or a death
+    public void releaseKeys() {
+        clearKeys();
+        releasePending = true;
+    }
+
+    // Advances one step using the live keys and any pending changes
+    public void tick(double dt) {
+        applyPending(dt);
+        int bits = key.pack();
+        if (restartPending) {
+            restartPending = false;
+            bits |= Key.RESTART;
+        }
+        if (releasePending) {
+            releasePending = false;
+            bits |= Key.RELEASE;
+        }
+        if (recorder != null) {
+            recorder.input(tickCount, bits);
+        }
+        step(dt, bits);
+    }
+
+    private void applyPending(double dt) {
+        if (dt != this.dt) {
+            this.dt = dt;
+            if (recorder != null) {
+                recorder.timeStep(tickCount, dt);
+            }
+        }
+        DifficultySettings.DifficultyConfig config = pendingDifficulty;
+        if (config != null) {
+            pendingDifficulty = null;
+            applyDifficulty(config);
+        }
+        long bounds = pendingBounds;
+        if (bounds != -1) {
+            pendingBounds = -1;
+            applyBounds((int) (bounds >>> 32), (int) bounds);
+        }
+    }
+
+    // Advances one step with the given Key bits, the entry point for replays
+    public void step(double dt, int input) {
+        if ((input & Key.RESTART) != 0) {
+            restart();
+        }
+        if ((input & Key.RELEASE) != 0) {
+            shotCooldown = 0;
+        }
+        this.input = input;
+        updateSpawner(dt);
+        updatePlayer(dt);
+        updateRockets(dt);
+        updateBullets(dt);
+        updateParticles(dt);
+        updateUltimate(dt);
+        tickCount++;
+        sound.endTick();
+        if (recorder != null) {
+            recorder.ticked(tickCount, this);
+        }
+    }
+
+    void applyDifficulty(DifficultySettings.DifficultyConfig config) {
+        difficulty = config;
+        if (recorder != null) {
+            recorder.difficulty(tickCount, config);
+        }
+    }
+
+    void applyBounds(int width, int height) {
+        this.width = width;
+        this.height = height;
+        player.setScreenBounds(width, height);
+        if (recorder != null) {
+            recorder.bounds(tickCount, width, height);
+        }
+    }
+
+    // Starts a new game, reporting the current score to the listener first.
+    // Only call it from the tick thread, others use requestRestart().
+    public void restart() {
+        if (listener != null) {
+            listener.gameRestarting(score);
+        }
+        resetWorld();
+    }
+
+    private void resetWorld() {
+        score = 0;
+        ultimateCharges = 0; // Reset ultimate charges
+        ultimateActive = false;
+        ultimateTimer = 0;
+        rockets.clear();
+        bullets.clear();
+        rocketSpawnTimer = 0;
+        player.changeLocation(150, 150);
+        player.reset();
+        player.setMaxHP(difficulty.getPlayerMaxHP());
+
+        // Reset all key states
+        resetInput();
+    }
+
+    private void resetInput() {
+        clearKeys();
+        input = 0;
+        shotCooldown = 0; // Also reset shot cooldown
+    }
+
+    private void clearKeys() {
+        key.setKey_left(false);
+        key.setKey_right(false);
+        key.setKey_space(false);
+        key.setKey_j(false);
+        key.setKey_k(false);
+        key.setKey_enter(false);
+    }
+
+    private void addRocket() {
+        DifficultySettings.DifficultyConfig config = difficulty;
+        int locationY = ran.nextInt(height - 50) + 25;
+        Rocket rocket = rockets.spawn();
+        rocket.changeLocation(0, locationY);
+        rocket.changeAngle(0);
+        rocket.setSpeedMultiplier(config.getRocketSpeedMultiplier());
+        rocket.setMaxHP(config.getRocketMaxHP());
+
+        int locationY2 = ran.nextInt(height - 50) + 25;
+        Rocket rocket2 = rockets.spawn();
+        rocket2.changeLocation(width, locationY2);
+        rocket2.changeAngle(180);
+        rocket2.setSpeedMultiplier(config.getRocketSpeedMultiplier());
+        rocket2.setMaxHP(config.getRocketMaxHP());
+    }
+
+    private void updateSpawner(double dt) {
+        rocketSpawnTimer -= dt;
+        if (rocketSpawnTimer <= 0) {
+            addRocket();
+            rocketSpawnTimer += difficulty.getRocketSpawnInterval() / 1000.0;
+        }
+    }
+
+    private void updatePlayer(double dt) {
+        if (player.isAlive()) {
+            float angle = player.getAngle();
+            if ((input & Key.LEFT) != 0) {
+                angle -= ROTATION_SPEED * dt;
+            }
+            if ((input & Key.RIGHT) != 0) {
+                angle += ROTATION_SPEED * dt;
+            }
+            if ((input & (Key.J | Key.K)) != 0) {
+                if (shotCooldown <= 0) {
+                    if ((input & Key.J) != 0) {
+                        if (ultimateActive) {
+                            // Ultimate bullet when J is pressed during ultimate mode
+                            bullets.spawn(player.getX(), player.getY(), player.getAngle(), 20, ULTIMATE_BULLET_SPEED);
+                        } else {
+                            // Normal bullet
+                            bullets.spawn(player.getX(), player.getY(), player.getAngle(), 5, NORMAL_BULLET_SPEED);
+                        }
+                        sound.soundShoot();
+                    } else if ((input & Key.K) != 0) {
+                        if (ultimateCharges > 0 && !ultimateActive) {
+                            // Activate ultimate mode and shoot ultimate bullet immediately
+                            ultimateCharges--;
+                            ultimateActive = true;
+                            ultimateTimer = ULTIMATE_DURATION;
+                            bullets.spawn(player.getX(), player.getY(), player.getAngle(), 20, ULTIMATE_BULLET_SPEED);
+                            sound.soundShoot();
+                        } else if (ultimateActive) {
+                            // If ultimate is already active, shoot ultimate bullet
+                            bullets.spawn(player.getX(), player.getY(), player.getAngle(), 20, ULTIMATE_BULLET_SPEED);
+                            sound.soundShoot();
+                        }
+                    }
+                    shotCooldown += SHOT_INTERVAL;
+                }
+                shotCooldown -= dt;
+            } else {
+                shotCooldown = 0;
+            }
+
+            if ((input & Key.SPACE) != 0) {
+                player.speedUp(dt);
+            } else {
+                player.speedDown(dt);
+            }
+            player.update(dt);
+            player.changeAngle(angle);
+        } else if ((input & Key.ENTER) != 0) {
+            restart();
+        }
+    }
+
+    private void updateRockets(double dt) {
+        for (int i = 0; i < rockets.size(); i++) {
+            Rocket rocket = rockets.get(i);
+            rocket.update(dt);
+            if (!rocket.check(width, height)) {
+                rockets.despawn(i);
+            }
+        }
+        rockets.flush();
+        buildRocketGrid();
+        if (player.isAlive()) {
+            checkPlayer();
+        }
+    }
+
+    private void buildRocketGrid() {
+        double r = Rocket.BOUNDING_RADIUS;
+        rocketGrid.clear(width, height);
+        for (int i = 0; i < rockets.size(); i++) {
+            Rocket rocket = rockets.get(i);
+            rocketGrid.insert(i, rocket.getCenterX() - r, rocket.getCenterY() - r, rocket.getCenterX() + r, rocket.getCenterY() + r);
+        }
+        rocketGrid.build();
+    }
+
+    private void updateBullets(double dt) {
+        bullets.move(dt);
+        for (int i = 0; i < bullets.size(); i++) {
+            if (bullets.isAlive(i)) {
+                checkBullets(i);
+            }
+        }
+        bullets.cullOffscreen(width, height);
+        bullets.compact();
+        // Grid ids are rocket indices, so rockets destroyed this tick only leave now
+        rockets.flush();
+    }
+
+    private void updateParticles(double dt) {
+        particles.update(dt);
+    }
+
+    private void updateUltimate(double dt) {
+        if (ultimateActive && ultimateTimer > 0) {
+            ultimateTimer -= dt;
+            if (ultimateTimer <= 0) {
+                ultimateTimer = 0;
+                ultimateActive = false;
+            }
+        }
+    }
+
+    private void checkBullets(int bullet) {
+        double bulletX = bullets.getX(bullet);
+        double bulletY = bullets.getY(bullet);
+        double bulletSize = bullets.getSize(bullet);
+        double centerX = bullets.getCenterX(bullet);
+        double centerY = bullets.getCenterY(bullet);
+        int count = rocketGrid.query(bulletX, bulletY, bulletX + bulletSize, bulletY + bulletSize);
+        int[] candidates = rocketGrid.getResults();
+        for (int i = 0; i < count; i++) {
+            Rocket rocket = rockets.get(candidates[i]);
+            // Rockets destroyed earlier this tick are still in the grid
+            if (!rockets.isRemoved(candidates[i])) {
+                if (Collision.intersects(rocket.getHull(), centerX, centerY, bulletSize / 2)) {
+                    particles.emit(ExplosionPreset.BULLET_HIT, centerX, centerY);
+                    if (!rocket.updateHP(bulletSize)) {
+                        score++;
+
+                        // Check if player earned ultimate charge (every 10 points)
+                        if (score % 10 == 0) {
+                            ultimateCharges++;
+                        }
+
+                        rockets.despawn(candidates[i]);
+                        sound.soundDestroy();
+                        double x = rocket.getX() + Rocket.ROCKET_SIZE / 2;
+                        double y = rocket.getY() + Rocket.ROCKET_SIZE / 2;
+                        particles.emit(ExplosionPreset.ROCKET_DESTROYED, x, y);
+                    } else {
+                        sound.soundHit();
+                    }
+                    bullets.kill(bullet);
+                }
+            }
+        }
+    }
+
+    private void checkPlayer() {
+        double r = Player.BOUNDING_RADIUS;
+        int count = rocketGrid.query(player.getCenterX() - r, player.getCenterY() - r, player.getCenterX() + r, player.getCenterY() + r);
+        int[] candidates = rocketGrid.getResults();
+        for (int i = 0; i < count && player.isAlive(); i++) {
+            if (!rockets.isRemoved(candidates[i])) {
+                checkPlayer(candidates[i]);
+            }
+        }
+    }
+
+    private void checkPlayer(int index) {
+        Rocket rocket = rockets.get(index);
+        if (Collision.intersects(player.getHull(), rocket.getHull())) {
+            double rocketHp = rocket.getHP();
+            if (!rocket.updateHP(player.getHP())) {
+                rockets.despawn(index);
+                sound.soundDestroy();
+                double x = rocket.getX() + Rocket.ROCKET_SIZE / 2;
+                double y = rocket.getY() + Rocket.ROCKET_SIZE / 2;
+                particles.emit(ExplosionPreset.ROCKET_DESTROYED, x, y);
+            }
+            if (!player.updateHP(rocketHp)) {
+                player.setAlive(false);
+                sound.soundDestroy();
+                double x = player.getX() + Player.PLAYER_SIZE / 2;
+                double y = player.getY() + Player.PLAYER_SIZE / 2;
+                particles.emit(ExplosionPreset.PLAYER_DESTROYED, x, y);
+
+                // Reset key states when player dies
+                resetInput();
+
+                if (listener != null) {
+                    listener.playerDestroyed(score);
+                }
+            }
+        }
+    }
+
+    // Hash of the gameplay state. Particles are left out, they are cosmetic and
+    // their density follows the render quality.
+    public long checksum() {
+        long h = mix(FNV_OFFSET, tickCount);
+        h = mix(h, score);
+        h = mix(h, ultimateCharges);
+        h = mix(h, ultimateActive ? 1 : 0);
+        h = mix(h, Double.doubleToLongBits(ultimateTimer));
+        h = mix(h, Double.doubleToLongBits(shotCooldown));
+        h = mix(h, Double.doubleToLongBits(rocketSpawnTimer));
+        h = mix(h, player.isAlive() ? 1 : 0);
+        h = mix(h, Double.doubleToLongBits(player.getX()));
+        h = mix(h, Double.doubleToLongBits(player.getY()));
+        h = mix(h, Float.floatToIntBits(player.getAngle()));
+        h = mix(h, Double.doubleToLongBits(player.getHP()));
+        h = mix(h, rockets.size());
+        for (int i = 0; i < rockets.size(); i++) {
+            Rocket rocket = rockets.get(i);
+            h = mix(h, Double.doubleToLongBits(rocket.getX()));
+            h = mix(h, Double.doubleToLongBits(rocket.getY()));
+            h = mix(h, Float.floatToIntBits(rocket.getAngle()));
+            h = mix(h, Double.doubleToLongBits(rocket.getHP()));
+        }
+        h = mix(h, bullets.size());
+        for (int i = 0; i < bullets.size(); i++) {
+            h = mix(h, Double.doubleToLongBits(bullets.getX(i)));
+            h = mix(h, Double.doubleToLongBits(bullets.getY(i)));
+            h = mix(h, Double.doubleToLongBits(bullets.getSize(i)));
+        }
+        return h;
+    }
+
+    //  FNV-1a over whole longs
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private static long mix(long h, long value) {
+        return (h ^ value) * FNV_PRIME;
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public DifficultySettings.DifficultyConfig getDifficulty() {
+        return difficulty;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public EntityArena<Rocket> getRockets() {
+        return rockets;
+    }
+
+    public BulletStore getBullets() {
+        return bullets;
+    }
+
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getUltimateCharges() {
+        return ultimateCharges;
+    }
+
+    public boolean isUltimateActive() {
+        return ultimateActive;
+    }
+
+    public double getUltimateTimer() {
+        return ultimateTimer;
+    }
+}
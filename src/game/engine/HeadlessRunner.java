@@ -0,0 +1,121 @@
+package game.engine;
+
+import game.util.DifficultySettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the simulation without a window or audio, driven by a simple bot that
+ * turns, boosts, fires, uses the ultimate and restarts after dying. Ticks run
+ * back to back by default, or at a fixed rate for soak tests. With a file
+ * name the run is also recorded, for ReplayRunner to check.
+ * Run with java -Djava.awt.headless=true -cp dist/plane-game.jar game.engine.HeadlessRunner [ticks] [rate, 0 = max speed] [difficulty] [replay file]
+ */
+public class HeadlessRunner {
+
+    private static final int WIDTH = 1366;
+    private static final int HEIGHT = 768;
+    private static final int SIMULATION_RATE = 60;
+    private static final double DT = 1.0 / SIMULATION_RATE;
+    private static final int CHECKSUM_INTERVAL = SIMULATION_RATE;
+
+    public static void main(String[] args) throws IOException {
+        long ticks = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int rate = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        String difficulty = args.length > 2 ? args[2] : "Medium";
+        File replayFile = args.length > 3 ? new File(args[3]) : null;
+
+        GameWorld world = new GameWorld(WIDTH, HEIGHT, DifficultySettings.getDifficultyConfig(difficulty), SoundSink.NONE);
+        int[] games = {1};
+        long[] totalScore = {0};
+        world.setListener(new GameWorld.Listener() {
+            @Override
+            public void playerDestroyed(int score) {
+                totalScore[0] += score;
+            }
+
+            @Override
+            public void gameRestarting(int score) {
+                games[0]++;
+            }
+        });
+        Bot bot = new Bot(world, new Random(1));
+        InputRecorder recorder = null;
+        if (replayFile != null) {
+            recorder = new InputRecorder(replayFile, world, CHECKSUM_INTERVAL);
+            world.setRecorder(recorder);
+        }
+
+        System.out.printf("Ticks: %d, rate: %s, difficulty: %s%n", ticks, rate > 0 ? rate + " Hz" : "max", difficulty);
+        int peakRockets = 0;
+        int peakBullets = 0;
+        int peakParticles = 0;
+        long period = rate > 0 ? 1_000_000_000L / rate : 0;
+        long startTime = System.nanoTime();
+        long deadline = startTime;
+        for (long t = 0; t < ticks; t++) {
+            bot.update();
+            world.tick(DT);
+            peakRockets = Math.max(peakRockets, world.getRockets().size());
+            peakBullets = Math.max(peakBullets, world.getBullets().size());
+            peakParticles = Math.max(peakParticles, world.getParticles().size());
+            if (period > 0) {
+                deadline += period;
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(remaining);
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        if (recorder != null) {
+            recorder.close(world);
+            System.out.printf("Recorded to %s (%d bytes, seed %d)%n", replayFile, replayFile.length(), world.getSeed());
+        }
+
+        System.out.printf("Wall time: %.2f s (%.1f s simulated)%n", seconds, ticks * DT);
+        System.out.printf("Throughput: %.0f ticks/s, %.1f M ticks/min%n", ticks / seconds, ticks / seconds * 60 / 1_000_000);
+        System.out.printf("Games: %d, points scored: %d%n", games[0], totalScore[0] + world.getScore());
+        System.out.printf("Peak rockets: %d, bullets: %d, particles: %d%n", peakRockets, peakBullets, peakParticles);
+        System.out.printf("Rockets allocated: %d, particle capacity: %d%n",
+                world.getRockets().getAllocatedCount(), world.getParticles().getCapacity());
+    }
+
+    // Presses keys the way a restless player would
+    private static class Bot {
+
+        private final GameWorld world;
+        private final Key key;
+        private final Random ran;
+        private int turnTicks;
+        private int deadTicks;
+
+        Bot(GameWorld world, Random ran) {
+            this.world = world;
+            this.key = world.getKey();
+            this.ran = ran;
+        }
+
+        void update() {
+            if (!world.getPlayer().isAlive()) {
+                // Look at the explosion for a second, then restart
+                key.setKey_enter(++deadTicks > SIMULATION_RATE);
+                return;
+            }
+            deadTicks = 0;
+            if (--turnTicks <= 0) {
+                int turn = ran.nextInt(3);
+                key.setKey_left(turn == 1);
+                key.setKey_right(turn == 2);
+                key.setKey_space(ran.nextInt(4) != 0);
+                turnTicks = SIMULATION_RATE / 2 + ran.nextInt(SIMULATION_RATE);
+            }
+            boolean ultimate = world.getUltimateCharges() > 0 && !world.isUltimateActive();
+            key.setKey_k(ultimate);
+            key.setKey_j(!ultimate);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package game.engine;
+
+import game.util.DifficultySettings;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes a GameWorld's input, settings changes and periodic checksums to a
+ * replay file, see ReplayLog for the layout. Create it before the first tick
+ * and hand it to GameWorld.setRecorder(), and close it once ticking has
+ * stopped. A write error is reported once and ends the recording, the game
+ * carries on.
+ */
+public class InputRecorder {
+
+    private final File file;
+    private final int checksumInterval;
+    private DataOutputStream out;
+    private long lastPosition;
+    private long ticks;
+    private long checksumTicks = -1;
+    private int bits;
+
+    public InputRecorder(File file, GameWorld world, int checksumInterval) throws IOException {
+        if (checksumInterval <= 0) {
+            throw new IllegalArgumentException("Checksum interval must be positive: " + checksumInterval);
+        }
+        this.file = file;
+        this.checksumInterval = checksumInterval;
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        out.writeInt(ReplayLog.MAGIC);
+        out.writeByte(ReplayLog.VERSION);
+        out.writeLong(world.getSeed());
+        ReplayLog.writeVarint(out, checksumInterval);
+        ReplayLog.writeVarint(out, world.getWidth());
+        ReplayLog.writeVarint(out, world.getHeight());
+        ReplayLog.writeDifficulty(out, world.getDifficulty());
+        out.writeLong(world.checksum());
+    }
+
+    synchronized void input(long position, int bits) {
+        int changed = this.bits ^ bits;
+        if (changed == 0 || !begin(position, ReplayLog.INPUT)) {
+            return;
+        }
+        this.bits = bits;
+        try {
+            out.writeByte(changed);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    synchronized void timeStep(long position, double dt) {
+        if (begin(position, ReplayLog.CONFIG)) {
+            try {
+                out.writeByte(ReplayLog.CONFIG_TIME_STEP);
+                out.writeDouble(dt);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    synchronized void bounds(long position, int width, int height) {
+        if (begin(position, ReplayLog.CONFIG)) {
+            try {
+                out.writeByte(ReplayLog.CONFIG_BOUNDS);
+                ReplayLog.writeVarint(out, width);
+                ReplayLog.writeVarint(out, height);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    synchronized void difficulty(long position, DifficultySettings.DifficultyConfig config) {
+        if (begin(position, ReplayLog.CONFIG)) {
+            try {
+                out.writeByte(ReplayLog.CONFIG_DIFFICULTY);
+                ReplayLog.writeDifficulty(out, config);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    // Called after every tick with the number of ticks done
+    synchronized void ticked(long ticks, GameWorld world) {
+        this.ticks = ticks;
+        if (ticks % checksumInterval == 0) {
+            writeChecksum(world);
+        }
+    }
+
+    private void writeChecksum(GameWorld world) {
+        if (begin(ticks, ReplayLog.CHECKSUM)) {
+            try {
+                out.writeLong(world.checksum());
+                checksumTicks = ticks;
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    // Ends the log with a last checksum, so short recordings are still verified
+    public synchronized void close(GameWorld world) {
+        if (out == null) {
+            return;
+        }
+        if (checksumTicks != ticks) {
+            writeChecksum(world);
+        }
+        if (begin(ticks, ReplayLog.END)) {
+            try {
+                ReplayLog.writeVarint(out, ticks);
+                out.close();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+        out = null;
+    }
+
+    private boolean begin(long position, int type) {
+        if (out == null) {
+            return false;
+        }
+        try {
+            ReplayLog.writeVarint(out, (position - lastPosition) << 2 | type);
+            lastPosition = position;
+            return true;
+        } catch (IOException e) {
+            fail(e);
+            return false;
+        }
+    }
+
+    private void fail(IOException e) {
+        System.err.println("Replay recording to " + file + " stopped: " + e.getMessage());
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        }
+        out = null;
+    }
+
+    public boolean isRecording() {
+        return out != null;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,76 @@
+package game.engine;
+
+public class Key {
+
+    //  Bits of one tick's input, as stored in replay logs
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int SPACE = 1 << 2;
+    public static final int J = 1 << 3;
+    public static final int K = 1 << 4;
+    public static final int ENTER = 1 << 5;
+    // One-shot commands from the pause menu and the window, not keys
+    public static final int RESTART = 1 << 6;
+    public static final int RELEASE = 1 << 7;
+
+    // Current key state as input bits
+    public int pack() {
+        return (key_left ? LEFT : 0) | (key_right ? RIGHT : 0) | (key_space ? SPACE : 0)
+                | (key_j ? J : 0) | (key_k ? K : 0) | (key_enter ? ENTER : 0);
+    }
+
+    public boolean isKey_enter() {
+        return key_enter;
+    }
+
+    public void setKey_enter(boolean key_enter) {
+        this.key_enter = key_enter;
+    }
+
+    public boolean isKey_right() {
+        return key_right;
+    }
+
+    public void setKey_right(boolean key_right) {
+        this.key_right = key_right;
+    }
+
+    public boolean isKey_left() {
+        return key_left;
+    }
+
+    public void setKey_left(boolean key_left) {
+        this.key_left = key_left;
+    }
+
+    public boolean isKey_space() {
+        return key_space;
+    }
+
+    public void setKey_space(boolean key_space) {
+        this.key_space = key_space;
+    }
+
+    public boolean isKey_j() {
+        return key_j;
+    }
+
+    public void setKey_j(boolean key_j) {
+        this.key_j = key_j;
+    }
+
+    public boolean isKey_k() {
+        return key_k;
+    }
+
+    public void setKey_k(boolean key_k) {
+        this.key_k = key_k;
+    }
+
+    private volatile boolean key_right;
+    private volatile boolean key_left;
+    private volatile boolean key_space;
+    private volatile boolean key_j;
+    private volatile boolean key_k;
+    private volatile boolean key_enter;
+}
@@ -0,0 +1,177 @@
+package game.engine;
+
+import game.util.DifficultySettings;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Plays a log written by InputRecorder back into a fresh GameWorld, one
+ * step() per recorded tick, and compares the world against every recorded
+ * checksum on the way. The first mismatch is kept; playback goes on so the
+ * divergence can still be watched on screen.
+ */
+public class Replay {
+
+    private final File file;
+    private final DataInputStream in;
+    private final long seed;
+    private final int checksumInterval;
+    private final int width;
+    private final int height;
+    private final DifficultySettings.DifficultyConfig difficulty;
+    private final long startChecksum;
+
+    private GameWorld world;
+    private double dt;
+    private int bits;
+    private long nextPosition;
+    private int nextType;
+    private boolean finished;
+    private long length = -1;
+    private int checksumsVerified;
+    private long mismatchTick = -1;
+
+    public Replay(File file) throws IOException {
+        this.file = file;
+        in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())));
+        if (in.readInt() != ReplayLog.MAGIC) {
+            throw new IOException(file + " is not a replay");
+        }
+        int version = in.readUnsignedByte();
+        if (version != ReplayLog.VERSION) {
+            throw new IOException(file + " has unsupported replay version " + version);
+        }
+        seed = in.readLong();
+        checksumInterval = (int) ReplayLog.readVarint(in);
+        width = (int) ReplayLog.readVarint(in);
+        height = (int) ReplayLog.readVarint(in);
+        difficulty = ReplayLog.readDifficulty(in);
+        startChecksum = in.readLong();
+    }
+
+    // Builds the world to replay into, only once per Replay
+    public GameWorld createWorld(SoundSink sound) throws IOException {
+        if (world != null) {
+            throw new IllegalStateException("Replay already started");
+        }
+        world = new GameWorld(width, height, difficulty, sound, seed);
+        if (world.checksum() != startChecksum) {
+            mismatchTick = 0;
+        }
+        try {
+            readHead();
+        } catch (EOFException e) {
+            finished = true;
+        }
+        return world;
+    }
+
+    // Runs the next recorded tick, false once the log is exhausted
+    public boolean step() throws IOException {
+        if (world == null) {
+            throw new IllegalStateException("createWorld() first");
+        }
+        try {
+            while (!finished && nextPosition == world.getTickCount()) {
+                readRecord();
+            }
+        } catch (EOFException e) {
+            // The game stopped without closing the log, play what there is
+            finished = true;
+        }
+        if (finished) {
+            return false;
+        }
+        world.step(dt, bits);
+        return true;
+    }
+
+    private void readHead() throws IOException {
+        long head = ReplayLog.readVarint(in);
+        nextPosition += head >>> 2;
+        nextType = (int) (head & 3);
+    }
+
+    private void readRecord() throws IOException {
+        switch (nextType) {
+            case ReplayLog.INPUT:
+                bits ^= in.readUnsignedByte();
+                break;
+            case ReplayLog.CHECKSUM:
+                long expected = in.readLong();
+                if (world.checksum() == expected) {
+                    checksumsVerified++;
+                } else if (mismatchTick < 0) {
+                    mismatchTick = world.getTickCount();
+                }
+                break;
+            case ReplayLog.CONFIG:
+                readConfig();
+                break;
+            default:
+                length = ReplayLog.readVarint(in);
+                finished = true;
+                return;
+        }
+        readHead();
+    }
+
+    private void readConfig() throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case ReplayLog.CONFIG_BOUNDS:
+                int w = (int) ReplayLog.readVarint(in);
+                int h = (int) ReplayLog.readVarint(in);
+                world.applyBounds(w, h);
+                break;
+            case ReplayLog.CONFIG_DIFFICULTY:
+                world.applyDifficulty(ReplayLog.readDifficulty(in));
+                break;
+            case ReplayLog.CONFIG_TIME_STEP:
+                dt = in.readDouble();
+                break;
+            default:
+                throw new IOException(file + " has unknown config tag " + tag);
+        }
+    }
+
+    // Seconds the last replayed tick advanced the world by
+    public double getTimeStep() {
+        return dt;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getChecksumInterval() {
+        return checksumInterval;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    // Total ticks from the end record, -1 if the log was cut short or isn't read that far
+    public long getLength() {
+        return length;
+    }
+
+    public int getChecksumsVerified() {
+        return checksumsVerified;
+    }
+
+    // Tick count at the first failed checksum, -1 while everything matches
+    public long getMismatchTick() {
+        return mismatchTick;
+    }
+}
@@ -0,0 +1,79 @@
+package game.engine;
+
+import game.util.DifficultySettings;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Layout of the replay files written by InputRecorder and read by Replay.
+ * <p>
+ * The header holds the magic "PGRP", a version byte, the world seed, the
+ * checksum interval, the starting size and difficulty, and the checksum of
+ * the starting state. After it comes a stream of records, each opened by
+ * varint((ticks since the previous record) &lt;&lt; 2 | type):
+ * <ul>
+ * <li>INPUT: one byte, XORed into the held Key bits from this tick on</li>
+ * <li>CHECKSUM: eight bytes, GameWorld.checksum() once that many ticks are done</li>
+ * <li>CONFIG: a sub tag, then new bounds, difficulty or time step before this tick</li>
+ * <li>END: the total tick count, nothing follows</li>
+ * </ul>
+ * Held keys only cost a record when they change, so a minute of play is
+ * usually a few hundred bytes.
+ */
+public final class ReplayLog {
+
+    public static final int MAGIC = 0x50475250; // "PGRP"
+    public static final int VERSION = 1;
+
+    //  Record types, in the low two bits of the record head
+    public static final int INPUT = 0;
+    public static final int CHECKSUM = 1;
+    public static final int CONFIG = 2;
+    public static final int END = 3;
+
+    //  CONFIG sub tags
+    public static final int CONFIG_BOUNDS = 0;
+    public static final int CONFIG_DIFFICULTY = 1;
+    public static final int CONFIG_TIME_STEP = 2;
+
+    private ReplayLog() {
+    }
+
+    // Unsigned LEB128, seven bits per byte, low bits first
+    public static void writeVarint(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    public static long readVarint(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in replay");
+    }
+
+    public static void writeDifficulty(DataOutput out, DifficultySettings.DifficultyConfig config) throws IOException {
+        writeVarint(out, config.getPlayerMaxHP());
+        writeVarint(out, config.getRocketMaxHP());
+        out.writeFloat(config.getRocketSpeedMultiplier());
+        writeVarint(out, config.getRocketSpawnInterval());
+    }
+
+    public static DifficultySettings.DifficultyConfig readDifficulty(DataInput in) throws IOException {
+        int playerMaxHP = (int) readVarint(in);
+        int rocketMaxHP = (int) readVarint(in);
+        float rocketSpeedMultiplier = in.readFloat();
+        int rocketSpawnInterval = (int) readVarint(in);
+        return new DifficultySettings.DifficultyConfig(playerMaxHP, rocketMaxHP, rocketSpeedMultiplier, rocketSpawnInterval);
+    }
+}
@@ -0,0 +1,40 @@
+package game.engine;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Replays a recorded game headlessly at full speed and checks every recorded
+ * checksum. Exits with status 1 when the replay diverges from the recording.
+ * Run with java -Djava.awt.headless=true -cp dist/plane-game.jar game.engine.ReplayRunner file
+ */
+public class ReplayRunner {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayRunner <replay file>");
+            System.exit(2);
+        }
+        Replay replay = new Replay(new File(args[0]));
+        GameWorld world = replay.createWorld(SoundSink.NONE);
+
+        long startTime = System.nanoTime();
+        while (replay.step()) {
+        }
+        double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+
+        long ticks = world.getTickCount();
+        System.out.printf("Replay: %s (seed %d, checksum every %d ticks)%n",
+                args[0], replay.getSeed(), replay.getChecksumInterval());
+        System.out.printf("Ticks: %d in %.2f s, %.0f ticks/s%n", ticks, seconds, ticks / seconds);
+        if (replay.getLength() != ticks) {
+            System.out.println("Log ends without an end record, it was cut short");
+        }
+        if (replay.getMismatchTick() >= 0) {
+            System.out.printf("DIVERGED at tick %d (%d other checksums matched)%n",
+                    replay.getMismatchTick(), replay.getChecksumsVerified());
+            System.exit(1);
+        }
+        System.out.printf("OK: %d checksums matched, final score %d%n", replay.getChecksumsVerified(), world.getScore());
+    }
+}
@@ -0,0 +1,30 @@
+package game.engine;
+
+// Where the simulation sends its sound cues, so it never touches javax.sound itself
+public interface SoundSink {
+
+    // For headless runs and benchmarks
+    SoundSink NONE = new SoundSink() {
+        @Override
+        public void soundShoot() {
+        }
+
+        @Override
+        public void soundHit() {
+        }
+
+        @Override
+        public void soundDestroy() {
+        }
+    };
+
+    void soundShoot();
+
+    void soundHit();
+
+    void soundDestroy();
+
+    // Called after every tick, a sink may merge or flush the tick's cues here
+    default void endTick() {
+    }
+}
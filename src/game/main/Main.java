@@ -1,8 +1,11 @@
 package game.main;
 
 import game.component.PanelGame;
+import game.engine.Replay;
+import game.obj.sound.SoundBank;
 import game.settings.SettingsPanel;
 import game.settings.HighscorePanel;
+import game.util.AssetRegistry;
 import game.util.GameSettings;
 import game.util.HighscoreManager;
 
@@ -13,6 +16,8 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 
@@ -86,6 +91,9 @@ public class Main extends JFrame {
             
             @Override
             public void windowClosing(WindowEvent e) {
+                if (gamePanel != null) {
+                    gamePanel.finishRecording();
+                }
                 gameSettings.saveSettings();
             }
         });
@@ -142,8 +150,24 @@ public class Main extends JFrame {
         gamePanel.requestFocusInWindow();
     }
 
+    // Watches a recorded game, replays never count towards highscores
+    public void startReplay(Replay replay) {
+        if (gamePanel != null) {
+            mainPanel.remove(gamePanel);
+        }
+        
+        gamePanel = new PanelGame(replay);
+        mainPanel.add(gamePanel, "GAME");
+        
+        cardLayout.show(mainPanel, "GAME");
+        gamePanel.start();
+        
+        gamePanel.requestFocusInWindow();
+    }
+
     public void resumeGame() {
         cardLayout.show(mainPanel, "GAME");
+        gamePanel.applySettings();
         gamePanel.resume();
     }
     
@@ -202,8 +226,23 @@ public class Main extends JFrame {
         highscoreManager.addScore(currentUser, score);
     }
     
+    // Pass --replay <file> to watch a recording, e.g. last_game.replay
     public static void main(String[] args) {
+        Replay replay = null;
+        if (args.length >= 2 && "--replay".equals(args[0])) {
+            try {
+                replay = new Replay(new File(args[1]));
+            } catch (IOException e) {
+                System.err.println("Error loading replay: " + e.getMessage());
+            }
+        }
+        // Decode every image and sound up front so menus, spawns and shots never hit the disk
+        AssetRegistry.preload();
+        SoundBank.preload("Clips".equals(GameSettings.getInstance().getSoundEngine()));
         Main main = new Main();
         main.setVisible(true);
+        if (replay != null) {
+            main.startReplay(replay);
+        }
     }
 }
@@ -1,5 +1,7 @@
 package game.main;
 
+import game.util.AssetRegistry;
+
 import java.awt.*;
 import java.awt.event.*;
 import javax.swing.*;
@@ -17,7 +19,7 @@ public class MainMenuPanel extends JPanel {
         setLayout(new BorderLayout());
         
         try {
-            backgroundImage = new ImageIcon(getClass().getResource("/game/image/BG.png")).getImage();
+            backgroundImage = AssetRegistry.getImage(AssetRegistry.BACKGROUND);
         } catch (Exception e) {
             System.err.println("Error loading menu background: " + e.getMessage());
             e.printStackTrace();
@@ -30,8 +32,7 @@ public class MainMenuPanel extends JPanel {
         // Create settings button for top-right corner
         settingsButton = new JButton();
         try {
-            ImageIcon originalIcon = new ImageIcon(getClass().getResource("/game/image/Settings_BTN.png"));
-            Image img = originalIcon.getImage();
+            Image img = AssetRegistry.getImage(AssetRegistry.SETTINGS_BUTTON);
             Image scaledImg = img.getScaledInstance(60, 60, Image.SCALE_SMOOTH);
             settingsButton.setIcon(new ImageIcon(scaledImg));
         } catch (Exception e) {
@@ -41,8 +42,7 @@ public class MainMenuPanel extends JPanel {
         // Create highscore button for top-left corner
         highscoreButton = new JButton();
         try {
-            ImageIcon originalIcon = new ImageIcon(getClass().getResource("/game/image/Rating_BTN.png"));
-            Image img = originalIcon.getImage();
+            Image img = AssetRegistry.getImage(AssetRegistry.RATING_BUTTON);
             Image scaledImg = img.getScaledInstance(60, 60, Image.SCALE_SMOOTH);
             highscoreButton.setIcon(new ImageIcon(scaledImg));
         } catch (Exception e) {
@@ -93,8 +93,7 @@ public class MainMenuPanel extends JPanel {
         // Create start button
         startButton = new JButton();
         try {
-            ImageIcon originalIcon = new ImageIcon(getClass().getResource("/game/image/Start_BTN.png"));
-            Image img = originalIcon.getImage();
+            Image img = AssetRegistry.getImage(AssetRegistry.START_BUTTON);
             Image scaledImg = img.getScaledInstance(300, 90, Image.SCALE_SMOOTH);
             startButton.setIcon(new ImageIcon(scaledImg));
         } catch (Exception e) {
@@ -104,8 +103,7 @@ public class MainMenuPanel extends JPanel {
         // Create exit button
         exitButton = new JButton();
         try {
-            ImageIcon originalIcon = new ImageIcon(getClass().getResource("/game/image/Exit_BTN.png"));
-            Image img = originalIcon.getImage();
+            Image img = AssetRegistry.getImage(AssetRegistry.EXIT_BUTTON);
             Image scaledImg = img.getScaledInstance(300, 90, Image.SCALE_SMOOTH);
             exitButton.setIcon(new ImageIcon(scaledImg));
         } catch (Exception e) {
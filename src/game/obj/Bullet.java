@@ -1,18 +1,25 @@
 package game.obj;
 
+import game.util.AssetRegistry;
+import game.util.Palette;
+
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.Shape;
-import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
 
 public class Bullet {
 
+    //  Pre-rendered bullets keyed by size and type, drawn with a plain blit
+    private static final int MAX_SPRITE_SIZE = 64;
+    private static final int SPRITE_PADDING = 3; // glow ring plus antialiasing
+    private static final BufferedImage[] SPRITES = new BufferedImage[(MAX_SPRITE_SIZE + 1) * 2];
+
     private double x;
     private double y;
-    private final Shape shape;
-    private Color color;
     private final float angle;
     private double size;
     private float speed = 1f;
@@ -28,19 +35,13 @@ public class Bullet {
         this.speed = speed;
         
         // Determine if this is an ultimate bullet based on size
-        if (size >= 20) {
-            this.isUltimate = true;
-            this.color = new Color(255, 215, 0); // Gold color for ultimate bullets
-        } else {
-            this.color = new Color(255, 255, 255); // White color for normal bullets
-        }
-        
-        shape = new Ellipse2D.Double(0, 0, size, size);
+        this.isUltimate = size >= 20;
     }
 
-    public void update() {
-        x += Math.cos(Math.toRadians(angle)) * speed;
-        y += Math.sin(Math.toRadians(angle)) * speed;
+    // speed is in pixels per second
+    public void update(double dt) {
+        x += Math.cos(Math.toRadians(angle)) * speed * dt;
+        y += Math.sin(Math.toRadians(angle)) * speed * dt;
     }
 
     public boolean check(int width, int height) {
@@ -52,18 +53,47 @@ public class Bullet {
     }
 
     public void draw(Graphics2D g2) {
-        AffineTransform oldTransform = g2.getTransform();
-        g2.setColor(color);
-        g2.translate(x, y);
-        g2.fill(shape);
-        
+        draw(g2, x, y, size, isUltimate);
+    }
+
+    // Stateless variant used when drawing from a world snapshot
+    public static void draw(Graphics2D g2, double x, double y, double size, boolean ultimate) {
+        BufferedImage sprite = getSprite(size, ultimate);
+        if (sprite != null) {
+            g2.drawImage(sprite, (int) Math.round(x) - SPRITE_PADDING, (int) Math.round(y) - SPRITE_PADDING, null);
+        } else {
+            paint(g2, x, y, size, ultimate);
+        }
+    }
+
+    private static void paint(Graphics2D g2, double x, double y, double size, boolean ultimate) {
+        g2.setColor(ultimate ? Palette.GOLD : Color.WHITE);
+        g2.fill(new Ellipse2D.Double(x, y, size, size));
         // Add glow effect for ultimate bullets
-        if (isUltimate) {
-            g2.setColor(new Color(255, 215, 0, 100)); // Semi-transparent gold
-            g2.fill(new Ellipse2D.Double(-2, -2, size + 4, size + 4));
+        if (ultimate) {
+            g2.setColor(Palette.GOLD_GLOW);
+            g2.fill(new Ellipse2D.Double(x - 2, y - 2, size + 4, size + 4));
         }
-        
-        g2.setTransform(oldTransform);
+    }
+
+    // Only whole sizes are cached, anything else is painted directly
+    private static BufferedImage getSprite(double size, boolean ultimate) {
+        int whole = (int) size;
+        if (whole != size || whole <= 0 || whole > MAX_SPRITE_SIZE) {
+            return null;
+        }
+        int key = whole * 2 + (ultimate ? 1 : 0);
+        BufferedImage sprite = SPRITES[key];
+        if (sprite == null) {
+            int extent = whole + SPRITE_PADDING * 2;
+            sprite = AssetRegistry.createCompatibleImage(extent, extent);
+            Graphics2D g2 = sprite.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            paint(g2, SPRITE_PADDING, SPRITE_PADDING, whole, ultimate);
+            g2.dispose();
+            SPRITES[key] = sprite;
+        }
+        return sprite;
     }
 
     public Shape getShape() {
@@ -0,0 +1,149 @@
+package game.obj;
+
+import java.util.Arrays;
+
+/**
+ * All live bullets as parallel primitive arrays. Velocity is resolved from
+ * the firing angle once at spawn, so a tick is a straight pass over the
+ * arrays with no trigonometry and no per-bullet objects. Bullets that hit
+ * something or leave the screen are flagged dead and dropped by the next
+ * compact(), which keeps the firing order of the survivors.
+ */
+public class BulletStore {
+
+    private static final byte ULTIMATE = 1;
+    private static final byte DEAD = 2;
+
+    private int count;
+    private double[] x;
+    private double[] y;
+    private double[] vx;
+    private double[] vy;
+    private double[] size;
+    private byte[] flags;
+
+    public BulletStore() {
+        this(64);
+    }
+
+    public BulletStore(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        size = new double[capacity];
+        flags = new byte[capacity];
+    }
+
+    // Same placement as Bullet: centered on the plane, speed in pixels per second
+    public int spawn(double planeX, double planeY, float angle, double size, float speed) {
+        if (count == x.length) {
+            grow();
+        }
+        int i = count++;
+        double radians = Math.toRadians(angle);
+        x[i] = planeX + Player.PLAYER_SIZE / 2 - size / 2;
+        y[i] = planeY + Player.PLAYER_SIZE / 2 - size / 2;
+        vx[i] = StrictMath.cos(radians) * speed;
+        vy[i] = StrictMath.sin(radians) * speed;
+        this.size[i] = size;
+        flags[i] = size >= 20 ? ULTIMATE : 0;
+        return i;
+    }
+
+    // Kept branch-free so the JIT can vectorize it
+    public void move(double dt) {
+        int n = count;
+        double[] x = this.x;
+        double[] y = this.y;
+        double[] vx = this.vx;
+        double[] vy = this.vy;
+        for (int i = 0; i < n; i++) {
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+        }
+    }
+
+    // Flags the bullets that left the screen. Run after the collision checks
+    // of the tick, a bullet still gets its hit on a rocket at the edge.
+    public void cullOffscreen(int width, int height) {
+        int n = count;
+        double[] x = this.x;
+        double[] y = this.y;
+        double[] size = this.size;
+        byte[] flags = this.flags;
+        for (int i = 0; i < n; i++) {
+            double s = size[i];
+            boolean inside = x[i] > -s & y[i] >= -s & x[i] <= width & y[i] <= height;
+            flags[i] |= inside ? 0 : DEAD;
+        }
+    }
+
+    public void kill(int i) {
+        flags[i] |= DEAD;
+    }
+
+    public void compact() {
+        int live = 0;
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & DEAD) == 0) {
+                if (live != i) {
+                    x[live] = x[i];
+                    y[live] = y[i];
+                    vx[live] = vx[i];
+                    vy[live] = vy[i];
+                    size[live] = size[i];
+                    flags[live] = flags[i];
+                }
+                live++;
+            }
+        }
+        count = live;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        size = Arrays.copyOf(size, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isAlive(int i) {
+        return (flags[i] & DEAD) == 0;
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getSize(int i) {
+        return size[i];
+    }
+
+    public double getCenterX(int i) {
+        return x[i] + size[i] / 2;
+    }
+
+    public double getCenterY(int i) {
+        return y[i] + size[i] / 2;
+    }
+
+    public boolean isUltimate(int i) {
+        return (flags[i] & ULTIMATE) != 0;
+    }
+}
@@ -0,0 +1,169 @@
+package game.obj;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Named explosion recipe made of particle layers.
+ * Each layer is a ring of particles with the same color, speed and travel
+ * distance, laid out the same way Effect used to do it. Every preset bakes
+ * a few jittered variants of its particles up front, so spawning one only
+ * copies a template picked by the caller's random stream.
+ * <p>
+ * density scales how many particles of each layer are emitted, and the
+ * counters show what every preset has cost so far.
+ */
+public class ExplosionPreset {
+
+    private static final int VARIANTS = 16;
+
+    private static final Map<String, ExplosionPreset> PRESETS = new LinkedHashMap<>();
+
+    //  Shared colors
+    private static final Color TEAL = new Color(32, 178, 169);
+    private static final Color GOLD = new Color(230, 207, 105);
+    private static final Color RED = new Color(255, 70, 70);
+    private static final Color WHITE = new Color(255, 255, 255);
+
+    //  Presets: particles, max size, distance (px), speed (px/s), color
+    public static final ExplosionPreset BULLET_HIT = define("bullet-hit")
+            .layer(3, 5, 60, 500f, GOLD);
+    public static final ExplosionPreset ROCKET_DESTROYED = define("rocket-destroyed")
+            .layer(5, 5, 75, 50f, TEAL)
+            .layer(5, 5, 75, 100f, TEAL)
+            .layer(10, 10, 100, 300f, GOLD)
+            .layer(10, 5, 100, 500f, RED)
+            .layer(10, 5, 150, 200f, WHITE);
+    public static final ExplosionPreset PLAYER_DESTROYED = define("player-destroyed")
+            .layer(5, 5, 75, 50f, TEAL)
+            .layer(5, 5, 75, 100f, TEAL)
+            .layer(10, 10, 100, 300f, GOLD)
+            .layer(10, 5, 100, 500f, RED)
+            .layer(10, 5, 150, 200f, WHITE);
+
+    private final String name;
+    private final Random ran;
+
+    //  Layers, as ranges into the particle tables
+    private int layerCount;
+    private int[] layerStart = new int[0];
+    private int[] layerSize = new int[0];
+
+    //  Particle tables, velocity and size hold VARIANTS copies of each particle
+    private int particleCount;
+    private float[] vx = new float[0];
+    private float[] vy = new float[0];
+    private float[] size = new float[0];
+    private float[] life = new float[0];
+    private int[] color = new int[0];
+
+    private volatile float density = 1f;
+    private volatile long spawnCount;
+    private volatile long emittedCount;
+
+    private ExplosionPreset(String name) {
+        this.name = name;
+        this.ran = new Random(name.hashCode());
+    }
+
+    private static ExplosionPreset define(String name) {
+        ExplosionPreset preset = new ExplosionPreset(name);
+        PRESETS.put(name, preset);
+        return preset;
+    }
+
+    public static ExplosionPreset get(String name) {
+        return PRESETS.get(name);
+    }
+
+    public static Collection<ExplosionPreset> getAll() {
+        return Collections.unmodifiableCollection(PRESETS.values());
+    }
+
+    private ExplosionPreset layer(int total, int maxSize, double distance, float speed, Color c) {
+        int start = particleCount;
+        int count = start + total;
+        layerStart = Arrays.copyOf(layerStart, layerCount + 1);
+        layerSize = Arrays.copyOf(layerSize, layerCount + 1);
+        layerStart[layerCount] = start;
+        layerSize[layerCount] = total;
+        layerCount++;
+
+        float[] newVx = new float[VARIANTS * count];
+        float[] newVy = new float[VARIANTS * count];
+        float[] newSize = new float[VARIANTS * count];
+        for (int v = 0; v < VARIANTS; v++) {
+            System.arraycopy(vx, v * start, newVx, v * count, start);
+            System.arraycopy(vy, v * start, newVy, v * count, start);
+            System.arraycopy(size, v * start, newSize, v * count, start);
+            float per = 360f / total;
+            for (int i = 1; i <= total; i++) {
+                double angle = Math.toRadians(i * per + ran.nextInt((int) per) + 1);
+                int p = v * count + start + i - 1;
+                newVx[p] = (float) (Math.cos(angle) * speed);
+                newVy[p] = (float) (Math.sin(angle) * speed);
+                newSize[p] = ran.nextInt(maxSize) + 1;
+            }
+        }
+        vx = newVx;
+        vy = newVy;
+        size = newSize;
+        life = Arrays.copyOf(life, count);
+        color = Arrays.copyOf(color, count);
+        Arrays.fill(life, start, count, (float) (distance / speed));
+        Arrays.fill(color, start, count, ParticleSystem.colorIndex(c));
+        particleCount = count;
+        return this;
+    }
+
+    // Copies one variant into the particle system, chosen by the caller's random stream
+    public void spawn(ParticleSystem particles, double x, double y, Random random) {
+        int base = random.nextInt(VARIANTS) * particleCount;
+        float scale = density;
+        int emitted = 0;
+        for (int l = 0; l < layerCount; l++) {
+            int start = layerStart[l];
+            int total = layerSize[l];
+            int n = Math.max(1, Math.round(total * scale));
+            // Evenly strided, so a thinned ring still covers the whole circle
+            for (int k = 0; k < n; k++) {
+                int i = start + k * total / n;
+                particles.add(x, y, vx[base + i], vy[base + i], size[base + i], life[i], color[i]);
+            }
+            emitted += n;
+        }
+        spawnCount++;
+        emittedCount += emitted;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Particles per spawn at full density
+    public int getParticleCount() {
+        return particleCount;
+    }
+
+    public float getDensity() {
+        return density;
+    }
+
+    // Fraction of each layer to emit, every layer keeps at least one particle
+    public void setDensity(float density) {
+        this.density = Math.max(0f, Math.min(1f, density));
+    }
+
+    public long getSpawnCount() {
+        return spawnCount;
+    }
+
+    public long getEmittedCount() {
+        return emittedCount;
+    }
+}
@@ -1,26 +1,31 @@
 package game.obj;
 
-import java.awt.Color;
+import game.util.Palette;
+
 import java.awt.Graphics2D;
-import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
 
 public class HpRender {
 
+    // Reused by every bar, only ever touched from the render thread
+    private static final Rectangle2D.Double BAR = new Rectangle2D.Double();
+
     protected HP hp; // Changed from private to protected
 
     public HpRender(HP hp) {
         this.hp = hp;
     }
 
-    protected void hpRender(Graphics2D g2, Shape shape, double y) {
-        if (hp.getCurrentHp() != hp.getMAX_HP()) {
-            double hpY = shape.getBounds().getY() - y - 10;
-            g2.setColor(new Color(70, 70, 70));
-            g2.fill(new Rectangle2D.Double(0, hpY, Player.PLAYER_SIZE, 2));
-            g2.setColor(new Color(253, 91, 91));
-            double hpSize = hp.getCurrentHp() / hp.getMAX_HP() * Player.PLAYER_SIZE;
-            g2.fill(new Rectangle2D.Double(0, hpY, hpSize, 2));
+    // Draws the bar from captured values, hpY is relative to the entity origin
+    public static void hpRender(Graphics2D g2, double hpY, double currentHp, double maxHp) {
+        if (currentHp != maxHp) {
+            g2.setColor(Palette.HP_BACKGROUND);
+            BAR.setRect(0, hpY, Player.PLAYER_SIZE, 2);
+            g2.fill(BAR);
+            g2.setColor(Palette.HP_FILL);
+            double hpSize = currentHp / maxHp * Player.PLAYER_SIZE;
+            BAR.setRect(0, hpY, hpSize, 2);
+            g2.fill(BAR);
         }
     }
 
@@ -0,0 +1,57 @@
+package game.obj;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+/**
+ * Draws captured particles batched by their (color, alpha) key.
+ * Particles are bucketed with a counting sort, so the paint changes once per
+ * visible shade rather than once per particle, and no AlphaComposite is ever
+ * needed. Each particle is then a plain rectangle fill, which Java2D
+ * rasterizes much faster than one large path holding the whole bucket.
+ * Scratch state is reused, so nothing is allocated once it covers the
+ * working set. Owned by the render thread.
+ */
+public class ParticleRenderer {
+
+    private final int[] bucketStart = new int[ParticleSystem.getKeyCount() + 1];
+    private int[] order = new int[256];
+    private final Rectangle2D.Float rect = new Rectangle2D.Float();
+
+    public void draw(Graphics2D g2, float[] x, float[] y, float[] size, short[] key, int count) {
+        if (count == 0) {
+            return;
+        }
+        if (order.length < count) {
+            order = new int[Math.max(count, order.length * 2)];
+        }
+        int[] start = bucketStart;
+        Arrays.fill(start, 0);
+        for (int i = 0; i < count; i++) {
+            start[key[i] + 1]++;
+        }
+        for (int k = 1; k < start.length; k++) {
+            start[k] += start[k - 1];
+        }
+        // start[k] walks forward while filling, ending at the start of bucket k + 1
+        for (int i = 0; i < count; i++) {
+            order[start[key[i]]++] = i;
+        }
+        int from = 0;
+        for (int k = 0; k < start.length - 1; k++) {
+            int to = start[k];
+            // Level 0 is fully transparent
+            if (to > from && k % ParticleSystem.ALPHA_LEVELS != 0) {
+                g2.setColor(ParticleSystem.getShade(k));
+                for (int j = from; j < to; j++) {
+                    int i = order[j];
+                    float s = size[i];
+                    rect.setRect(x[i] - s / 2, y[i] - s / 2, s, s);
+                    g2.fill(rect);
+                }
+            }
+            from = to;
+        }
+    }
+}
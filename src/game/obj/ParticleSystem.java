@@ -0,0 +1,183 @@
+package game.obj;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Every live explosion particle as parallel primitive arrays.
+ * A particle flies straight out from its burst center and fades over
+ * the last 70% of its life, the same motion the old Effect drew. Bursts
+ * come from ExplosionPreset templates with velocity already resolved, so
+ * update() is one integration pass followed by a swap-remove sweep for
+ * expired particles.
+ */
+public class ParticleSystem {
+
+    //  Alpha is quantized so the renderer can batch particles by (color, alpha)
+    public static final int ALPHA_LEVELS = 16;
+    private static final int MAX_COLORS = 256;
+
+    //  Shared palette, every color pre-built at each alpha level
+    private static final Color[] PALETTE = new Color[MAX_COLORS];
+    private static final Color[] SHADES = new Color[MAX_COLORS * ALPHA_LEVELS];
+    private static int paletteSize;
+
+    private int count;
+    private float[] x;
+    private float[] y;
+    private float[] vx;
+    private float[] vy;
+    private float[] size;
+    private float[] age;
+    private float[] life;
+    private byte[] color;
+    private final Random ran = new Random();
+
+    public ParticleSystem() {
+        this(1024);
+    }
+
+    public ParticleSystem(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        size = new float[capacity];
+        age = new float[capacity];
+        life = new float[capacity];
+        color = new byte[capacity];
+    }
+
+    // Index of the color in the shared palette, registering it on first use
+    public static synchronized int colorIndex(Color c) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (PALETTE[i].getRGB() == c.getRGB()) {
+                return i;
+            }
+        }
+        if (paletteSize == MAX_COLORS) {
+            throw new IllegalStateException("Particle palette is full");
+        }
+        int index = paletteSize;
+        PALETTE[index] = c;
+        for (int level = 0; level < ALPHA_LEVELS; level++) {
+            int alpha = Math.round(c.getAlpha() * level / (float) (ALPHA_LEVELS - 1));
+            SHADES[index * ALPHA_LEVELS + level] = new Color(c.getRed(), c.getGreen(), c.getBlue(), alpha);
+        }
+        paletteSize = index + 1;
+        return index;
+    }
+
+    // Color of a batch key produced by getKey()
+    public static Color getShade(int key) {
+        return SHADES[key];
+    }
+
+    // Makes the explosion variants repeat for the same seed
+    public void setSeed(long seed) {
+        ran.setSeed(seed);
+    }
+
+    public void emit(ExplosionPreset preset, double cx, double cy) {
+        preset.spawn(this, cx, cy, ran);
+    }
+
+    public void add(double px, double py, double pvx, double pvy, float psize, float lifetime, int colorIndex) {
+        if (count == x.length) {
+            grow();
+        }
+        int i = count++;
+        x[i] = (float) px;
+        y[i] = (float) py;
+        vx[i] = (float) pvx;
+        vy[i] = (float) pvy;
+        size[i] = psize;
+        age[i] = 0;
+        life[i] = lifetime;
+        color[i] = (byte) colorIndex;
+    }
+
+    public void update(double dt) {
+        int n = count;
+        float step = (float) dt;
+        float[] x = this.x;
+        float[] y = this.y;
+        float[] vx = this.vx;
+        float[] vy = this.vy;
+        float[] age = this.age;
+        for (int i = 0; i < n; i++) {
+            x[i] += vx[i] * step;
+            y[i] += vy[i] * step;
+            age[i] += step;
+        }
+        int i = 0;
+        while (i < n) {
+            if (age[i] >= life[i]) {
+                n--;
+                move(n, i);
+            } else {
+                i++;
+            }
+        }
+        count = n;
+    }
+
+    private void move(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        vx[to] = vx[from];
+        vy[to] = vy[from];
+        size[to] = size[from];
+        age[to] = age[from];
+        life[to] = life[from];
+        color[to] = color[from];
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    private void grow() {
+        int capacity = Math.max(64, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        size = Arrays.copyOf(size, capacity);
+        age = Arrays.copyOf(age, capacity);
+        life = Arrays.copyOf(life, capacity);
+        color = Arrays.copyOf(color, capacity);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return x.length;
+    }
+
+    public float getX(int i) {
+        return x[i];
+    }
+
+    public float getY(int i) {
+        return y[i];
+    }
+
+    public float getSize(int i) {
+        return size[i];
+    }
+
+    // Batch key: palette index and quantized alpha, level 0 is fully transparent
+    public int getKey(int i) {
+        float t = age[i] / life[i];
+        float alpha = Math.max(0f, Math.min(1f, (1f - t) / 0.7f));
+        return (color[i] & 0xFF) * ALPHA_LEVELS + Math.round(alpha * (ALPHA_LEVELS - 1));
+    }
+
+    public static int getKeyCount() {
+        return MAX_COLORS * ALPHA_LEVELS;
+    }
+}
@@ -1,38 +1,53 @@
 package game.obj;
 
+import game.collision.ConvexHull;
+import game.collision.SpatialGrid;
+import game.util.AssetRegistry;
+
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Path2D;
-import javax.swing.ImageIcon;
 
 public class Player extends HpRender {
 
     public Player() {
         super(new HP(50, 50));
-        this.image = new ImageIcon(getClass().getResource("/game/image/plane.png")).getImage();
-        this.image_speed = new ImageIcon(getClass().getResource("/game/image/plane_speed.png")).getImage();
+        this.maxHP = 50; // Default HP
+        resetHP();
+    }
+
+    // Collision hull shared by every instance, only ever read through transformed copies
+    private static Area createShape() {
         Path2D p = new Path2D.Double();
         p.moveTo(0, 15);
         p.lineTo(20, 5);
         p.lineTo(PLAYER_SIZE + 15, PLAYER_SIZE / 2);
         p.lineTo(20, PLAYER_SIZE - 5);
         p.lineTo(0, PLAYER_SIZE - 15);
-        playerShap = new Area(p);
-        this.maxHP = 50; // Default HP
-        resetHP();
+        return new Area(p);
     }
 
     public static final double PLAYER_SIZE = 64;
+    private static final Image IMAGE = AssetRegistry.getImage(AssetRegistry.PLANE);
+    private static final Image IMAGE_SPEED = AssetRegistry.getImage(AssetRegistry.PLANE_SPEED);
+    private static final Area SHAPE = createShape();
+    // Reach of the hull from the rotation center at any angle
+    private static final ConvexHull HULL = ConvexHull.fromShape(SHAPE);
+    public static final double BOUNDING_RADIUS = SpatialGrid.boundingRadius(SHAPE, PLAYER_SIZE / 2, PLAYER_SIZE / 2);
+    private static volatile RotatedSprite sprite;
+    private static volatile RotatedSprite spriteSpeed;
     private double x;
     private double y;
-    private final float MAX_SPEED = 1f;
+    // World-space hull, refreshed lazily after the entity moves or turns
+    private final ConvexHull hull = new ConvexHull(HULL);
+    private boolean hullDirty = true;
+    private final float MAX_SPEED = 200f; // pixels per second
+    private final float ACCELERATION = 400f; // pixels per second, per second
+    private final float DECELERATION = 120f;
     private float speed = 0f;
     private float angle = 0f;
-    private final Area playerShap;
-    private final Image image;
-    private final Image image_speed;
     private boolean speedUp;
     private boolean alive = true;
     private double maxHP = 50;
@@ -44,12 +59,13 @@ public class Player extends HpRender {
     public void changeLocation(double x, double y) {
         this.x = x;
         this.y = y;
+        hullDirty = true;
     }
 
-    public void update() {
+    public void update(double dt) {
         // Calculate new position
-        double newX = x + Math.cos(Math.toRadians(angle)) * speed;
-        double newY = y + Math.sin(Math.toRadians(angle)) * speed;
+        double newX = x + StrictMath.cos(Math.toRadians(angle)) * speed * dt;
+        double newY = y + StrictMath.sin(Math.toRadians(angle)) * speed * dt;
         
         // Check boundaries and constrain position
         if (newX >= 0 && newX <= screenWidth - PLAYER_SIZE) {
@@ -58,6 +74,7 @@ public class Player extends HpRender {
         if (newY >= 0 && newY <= screenHeight - PLAYER_SIZE) {
             y = newY;
         }
+        hullDirty = true;
     }
     
     // Method to set screen boundaries
@@ -73,16 +90,39 @@ public class Player extends HpRender {
             angle = 0;
         }
         this.angle = angle;
+        hullDirty = true;
+    }
+
+    // Pre-render both plane images every step degrees, 0 turns the cache off
+    public static void prepareSprites(int step) {
+        if (step <= 0) {
+            sprite = null;
+            spriteSpeed = null;
+        } else if (sprite == null || sprite.getStep() != step) {
+            sprite = new RotatedSprite(IMAGE, PLAYER_SIZE, step);
+            spriteSpeed = new RotatedSprite(IMAGE_SPEED, PLAYER_SIZE, step);
+        }
     }
 
     public void draw(Graphics2D g2) {
-        AffineTransform oldTransform = g2.getTransform();
+        draw(g2, speedUp, x, y, angle, getHpBarY(), hp.getCurrentHp(), hp.getMAX_HP());
+    }
+
+    // Stateless variant used when drawing from a world snapshot
+    public static void draw(Graphics2D g2, boolean speedUp, double x, double y, float angle, double hpBarY, double currentHp, double maxHp) {
+        RotatedSprite rotated = speedUp ? spriteSpeed : sprite;
+        if (rotated != null) {
+            rotated.draw(g2, x, y, angle + 45);
+        }
+        // Translate back rather than copying the transform, to keep the draw allocation-free
         g2.translate(x, y);
-        AffineTransform tran = new AffineTransform();
-        tran.rotate(Math.toRadians(angle + 45), PLAYER_SIZE / 2, PLAYER_SIZE / 2);
-        g2.drawImage(speedUp ? image_speed : image, tran, null);
-        hpRender(g2, getShape(), y);
-        g2.setTransform(oldTransform);
+        if (rotated == null) {
+            AffineTransform tran = new AffineTransform();
+            tran.rotate(Math.toRadians(angle + 45), PLAYER_SIZE / 2, PLAYER_SIZE / 2);
+            g2.drawImage(speedUp ? IMAGE_SPEED : IMAGE, tran, null);
+        }
+        hpRender(g2, hpBarY, currentHp, maxHp);
+        g2.translate(-x, -y);
 
         //  Test Shap
 //        g2.setColor(new Color(12, 173, 84));
@@ -94,7 +134,23 @@ public class Player extends HpRender {
         AffineTransform afx = new AffineTransform();
         afx.translate(x, y);
         afx.rotate(Math.toRadians(angle), PLAYER_SIZE / 2, PLAYER_SIZE / 2);
-        return new Area(afx.createTransformedShape(playerShap));
+        return new Area(afx.createTransformedShape(SHAPE));
+    }
+
+    public boolean isSpeedUp() {
+        return speedUp;
+    }
+
+    public double getHpBarY() {
+        return Math.floor(getHull().getMinY()) - y - 10;
+    }
+
+    public ConvexHull getHull() {
+        if (hullDirty) {
+            hull.update(x, y, angle, PLAYER_SIZE / 2, PLAYER_SIZE / 2);
+            hullDirty = false;
+        }
+        return hull;
     }
 
     public double getX() {
@@ -105,25 +161,33 @@ public class Player extends HpRender {
         return y;
     }
 
+    public double getCenterX() {
+        return x + PLAYER_SIZE / 2;
+    }
+
+    public double getCenterY() {
+        return y + PLAYER_SIZE / 2;
+    }
+
     public float getAngle() {
         return angle;
     }
 
-    public void speedUp() {
+    public void speedUp(double dt) {
         speedUp = true;
         if (speed > MAX_SPEED) {
             speed = MAX_SPEED;
         } else {
-            speed += 0.01f;
+            speed += ACCELERATION * dt;
         }
     }
 
-    public void speedDown() {
+    public void speedDown(double dt) {
         speedUp = false;
         if (speed <= 0) {
             speed = 0;
         } else {
-            speed -= 0.003f;
+            speed -= DECELERATION * dt;
         }
     }
 
@@ -140,6 +204,7 @@ public class Player extends HpRender {
         resetHP();
         angle = 0;
         speed = 0;
+        hullDirty = true;
     }
     
     // New methods for difficulty support
@@ -1,19 +1,25 @@
 package game.obj;
 
+import game.collision.ConvexHull;
+import game.collision.SpatialGrid;
+import game.util.AssetRegistry;
+
 import java.awt.Graphics2D;
 import java.awt.Image;
-import java.awt.Rectangle;
-import java.awt.Shape;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Path2D;
-import javax.swing.ImageIcon;
 
 public class Rocket extends HpRender {
 
     public Rocket() {
         super(new HP(20, 20));
-        this.image = new ImageIcon(getClass().getResource("/game/image/rocket.png")).getImage();
+        this.maxHP = 20; // Default HP
+        this.speedMultiplier = 1.0f; // Default speed
+    }
+
+    // Collision hull shared by every instance, only ever read through transformed copies
+    private static Area createShape() {
         Path2D p = new Path2D.Double();
         p.moveTo(0, ROCKET_SIZE / 2);
         p.lineTo(15, 10);
@@ -21,29 +27,36 @@ public class Rocket extends HpRender {
         p.lineTo(ROCKET_SIZE + 10, ROCKET_SIZE / 2);
         p.lineTo(ROCKET_SIZE - 5, ROCKET_SIZE - 13);
         p.lineTo(15, ROCKET_SIZE - 10);
-        rocketShap = new Area(p);
-        this.maxHP = 20; // Default HP
-        this.speedMultiplier = 1.0f; // Default speed
+        return new Area(p);
     }
 
     public static final double ROCKET_SIZE = 50;
+    private static final Image IMAGE = AssetRegistry.getImage(AssetRegistry.ROCKET);
+    private static final Area SHAPE = createShape();
+    // Reach of the hull from the rotation center at any angle
+    private static final ConvexHull HULL = ConvexHull.fromShape(SHAPE);
+    public static final double BOUNDING_RADIUS = SpatialGrid.boundingRadius(SHAPE, ROCKET_SIZE / 2, ROCKET_SIZE / 2);
+    private static volatile RotatedSprite sprite;
     private double x;
     private double y;
-    private final float speed = 0.3f;
+    // World-space hull, refreshed lazily after the entity moves or turns
+    private final ConvexHull hull = new ConvexHull(HULL);
+    private boolean hullDirty = true;
+    private final float speed = 60f; // pixels per second
     private float angle = 0;
-    private final Image image;
-    private final Area rocketShap;
     private double maxHP = 20;
     private float speedMultiplier = 1.0f;
 
     public void changeLocation(double x, double y) {
         this.x = x;
         this.y = y;
+        hullDirty = true;
     }
 
-    public void update() {
-        x += Math.cos(Math.toRadians(angle)) * speed * speedMultiplier;
-        y += Math.sin(Math.toRadians(angle)) * speed * speedMultiplier;
+    public void update(double dt) {
+        x += StrictMath.cos(Math.toRadians(angle)) * speed * speedMultiplier * dt;
+        y += StrictMath.sin(Math.toRadians(angle)) * speed * speedMultiplier * dt;
+        hullDirty = true;
     }
 
     public void changeAngle(float angle) {
@@ -53,17 +66,37 @@ public class Rocket extends HpRender {
             angle = 0;
         }
         this.angle = angle;
+        hullDirty = true;
+    }
+
+    // Pre-render the rocket image every step degrees, 0 turns the cache off
+    public static void prepareSprites(int step) {
+        if (step <= 0) {
+            sprite = null;
+        } else if (sprite == null || sprite.getStep() != step) {
+            sprite = new RotatedSprite(IMAGE, ROCKET_SIZE, step);
+        }
     }
 
     public void draw(Graphics2D g2) {
-        AffineTransform oldTransform = g2.getTransform();
+        draw(g2, x, y, angle, getHpBarY(), hp.getCurrentHp(), hp.getMAX_HP());
+    }
+
+    // Stateless variant used when drawing from a world snapshot
+    public static void draw(Graphics2D g2, double x, double y, float angle, double hpBarY, double currentHp, double maxHp) {
+        RotatedSprite rotated = sprite;
+        if (rotated != null) {
+            rotated.draw(g2, x, y, angle + 45);
+        }
+        // Translate back rather than copying the transform, to keep the draw allocation-free
         g2.translate(x, y);
-        AffineTransform tran = new AffineTransform();
-        tran.rotate(Math.toRadians(angle + 45), ROCKET_SIZE / 2, ROCKET_SIZE / 2);
-        g2.drawImage(image, tran, null);
-        Shape shap = getShape();
-        hpRender(g2, shap, y);
-        g2.setTransform(oldTransform);
+        if (rotated == null) {
+            AffineTransform tran = new AffineTransform();
+            tran.rotate(Math.toRadians(angle + 45), ROCKET_SIZE / 2, ROCKET_SIZE / 2);
+            g2.drawImage(IMAGE, tran, null);
+        }
+        hpRender(g2, hpBarY, currentHp, maxHp);
+        g2.translate(-x, -y);
 
         //  Test
         // g2.setColor(new Color(36, 214, 63));
@@ -71,6 +104,18 @@ public class Rocket extends HpRender {
         // g2.draw(shap.getBounds2D());
     }
 
+    public double getHpBarY() {
+        return Math.floor(getHull().getMinY()) - y - 10;
+    }
+
+    public ConvexHull getHull() {
+        if (hullDirty) {
+            hull.update(x, y, angle, ROCKET_SIZE / 2, ROCKET_SIZE / 2);
+            hullDirty = false;
+        }
+        return hull;
+    }
+
     public double getX() {
         return x;
     }
@@ -79,6 +124,14 @@ public class Rocket extends HpRender {
         return y;
     }
 
+    public double getCenterX() {
+        return x + ROCKET_SIZE / 2;
+    }
+
+    public double getCenterY() {
+        return y + ROCKET_SIZE / 2;
+    }
+
     public float getAngle() {
         return angle;
     }
@@ -87,12 +140,12 @@ public class Rocket extends HpRender {
         AffineTransform afx = new AffineTransform();
         afx.translate(x, y);
         afx.rotate(Math.toRadians(angle), ROCKET_SIZE / 2, ROCKET_SIZE / 2);
-        return new Area(afx.createTransformedShape(rocketShap));
+        return new Area(afx.createTransformedShape(SHAPE));
     }
 
     public boolean check(int width, int height) {
-        Rectangle size = getShape().getBounds();
-        if (x <= -size.getWidth() || y < -size.getHeight() || x > width || y > height) {
+        ConvexHull bounds = getHull();
+        if (x <= -(bounds.getMaxX() - bounds.getMinX()) || y < -(bounds.getMaxY() - bounds.getMinY()) || x > width || y > height) {
             return false;
         } else {
             return true;
@@ -106,8 +159,9 @@ public class Rocket extends HpRender {
     
     public void setMaxHP(int maxHP) {
         this.maxHP = maxHP;
-        // Update the HP object
-        this.hp = new HP(maxHP, maxHP);
+        // Refill the HP object, pooled rockets keep their instance
+        hp.setMAX_HP(maxHP);
+        hp.setCurrentHp(maxHP);
     }
     
     public double getMaxHP() {
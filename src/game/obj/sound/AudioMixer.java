@@ -0,0 +1,265 @@
+package game.obj.sound;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * Mixes every playing effect on one audio thread into a single output, so
+ * heavy fire never needs more than one line from the sound card.
+ * <p>
+ * The effects are converted once to the mixer's 44.1 kHz stereo format.
+ * play() only bumps a per-effect counter, which the audio thread drains
+ * before each buffer of BUFFER_FRAMES, along with the loudest gain asked
+ * for since the last buffer. Each effect has a fixed number of
+ * voices; a trigger with none free restarts the voice that started longest
+ * ago. Master volume is a gain in the mix, applied before clipping.
+ */
+public class AudioMixer {
+
+    public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    // 256 frames is 5.8 ms per mix, the output holds four of them
+    public static final int BUFFER_FRAMES = 256;
+    private static final int OUTPUT_BUFFERS = 4;
+    // Voice gains are fixed point, 256 is unity
+    private static final int UNITY = 256;
+
+    private final AudioOutput output;
+    private final short[][] samples;
+    private final AtomicIntegerArray pending;
+    private final AtomicIntegerArray pendingGain;
+    private final int voicesPerSound;
+
+    //  Voices, only touched by the mixing thread
+    private final int[][] position;
+    private final long[][] startedAt;
+    private final int[][] gain;
+    private final int[] mix = new int[BUFFER_FRAMES * 2];
+    private final byte[] buffer = new byte[BUFFER_FRAMES * 4];
+    private long starts;
+
+    private volatile float volume = 1f;
+    private volatile boolean running;
+    private Thread thread;
+
+    //  Stats, written by the mixing thread
+    private volatile int activeVoices;
+    private volatile long steals;
+    private volatile long buffers;
+    private volatile long mixNanos;
+
+    public AudioMixer(SoundBank bank, AudioOutput output, int voicesPerSound) {
+        this.output = output;
+        this.voicesPerSound = voicesPerSound;
+        samples = new short[SoundBank.COUNT][];
+        for (int i = 0; i < SoundBank.COUNT; i++) {
+            samples[i] = convert(bank.getFormat(i), bank.getData(i));
+        }
+        pending = new AtomicIntegerArray(SoundBank.COUNT);
+        pendingGain = new AtomicIntegerArray(SoundBank.COUNT);
+        position = new int[SoundBank.COUNT][voicesPerSound];
+        startedAt = new long[SoundBank.COUNT][voicesPerSound];
+        gain = new int[SoundBank.COUNT][voicesPerSound];
+        for (int[] voices : position) {
+            Arrays.fill(voices, -1);
+        }
+    }
+
+    // Interleaved stereo at the mixer's rate, resampled linearly
+    private static short[] convert(AudioFormat format, byte[] data) {
+        if (format == null) {
+            return new short[0];
+        }
+        int channels = format.getChannels();
+        int frames = data.length / format.getFrameSize();
+        double step = format.getSampleRate() / FORMAT.getSampleRate();
+        int outFrames = (int) ((frames - 1) / step) + 1;
+        short[] out = new short[outFrames * 2];
+        for (int f = 0; f < outFrames; f++) {
+            double src = f * step;
+            int i = (int) src;
+            double t = src - i;
+            int j = Math.min(i + 1, frames - 1);
+            for (int c = 0; c < 2; c++) {
+                int ch = Math.min(c, channels - 1);
+                int a = sample(data, (i * channels + ch) * 2);
+                int b = sample(data, (j * channels + ch) * 2);
+                out[f * 2 + c] = (short) Math.round(a + (b - a) * t);
+            }
+        }
+        return out;
+    }
+
+    private static int sample(byte[] data, int at) {
+        return (short) ((data[at] & 0xFF) | data[at + 1] << 8);
+    }
+
+    public void start() throws IOException, LineUnavailableException {
+        output.open(FORMAT, OUTPUT_BUFFERS * buffer.length);
+        running = true;
+        thread = new Thread(this::run, "audio-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    private void run() {
+        while (running) {
+            mix(buffer, BUFFER_FRAMES);
+            try {
+                output.write(buffer, BUFFER_FRAMES * 4);
+            } catch (IOException e) {
+                System.err.println("Audio output failed: " + e.getMessage());
+                running = false;
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        output.close();
+    }
+
+    // Safe from any thread and never blocks
+    public void play(int sound) {
+        play(sound, 1f);
+    }
+
+    // gain scales this play on top of the master volume, 1.0 is unchanged
+    public void play(int sound, float gain) {
+        int fixed = Math.round(gain * UNITY);
+        int current;
+        do {
+            current = pendingGain.get(sound);
+        } while (fixed > current && !pendingGain.compareAndSet(sound, current, fixed));
+        pending.incrementAndGet(sound);
+    }
+
+    // volume should be between 0.0 and 1.0
+    public void setVolume(float volume) {
+        this.volume = Math.max(0f, Math.min(1f, volume));
+    }
+
+    // Mixes the next frames into out as 16-bit little-endian stereo. The audio
+    // thread calls it for every buffer; without start() it renders offline.
+    public void mix(byte[] out, int frames) {
+        long startTime = System.nanoTime();
+        startPending();
+        int samplesOut = frames * 2;
+        Arrays.fill(mix, 0, samplesOut, 0);
+        int active = 0;
+        for (int s = 0; s < SoundBank.COUNT; s++) {
+            short[] data = samples[s];
+            int[] voices = position[s];
+            int[] gains = gain[s];
+            for (int v = 0; v < voicesPerSound; v++) {
+                int pos = voices[v];
+                if (pos < 0) {
+                    continue;
+                }
+                int n = Math.min(samplesOut, data.length - pos);
+                int g = gains[v];
+                if (g == UNITY) {
+                    for (int i = 0; i < n; i++) {
+                        mix[i] += data[pos + i];
+                    }
+                } else {
+                    for (int i = 0; i < n; i++) {
+                        mix[i] += data[pos + i] * g >> 8;
+                    }
+                }
+                pos += n;
+                voices[v] = pos < data.length ? pos : -1;
+                active++;
+            }
+        }
+        float master = volume;
+        for (int i = 0; i < samplesOut; i++) {
+            int value = (int) (mix[i] * master);
+            value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+            out[i * 2] = (byte) value;
+            out[i * 2 + 1] = (byte) (value >> 8);
+        }
+        activeVoices = active;
+        buffers++;
+        mixNanos += System.nanoTime() - startTime;
+    }
+
+    private void startPending() {
+        for (int s = 0; s < SoundBank.COUNT; s++) {
+            // Triggers in the same buffer start together, more voices than the cap would only add volume
+            int count = Math.min(pending.getAndSet(s, 0), voicesPerSound);
+            if (count == 0) {
+                continue;
+            }
+            // A play racing with this drain may lend its gain to the other voices, or start at unity
+            int g = pendingGain.getAndSet(s, 0);
+            for (int k = 0; k < count; k++) {
+                startVoice(s, g > 0 ? g : UNITY);
+            }
+        }
+    }
+
+    private void startVoice(int sound, int voiceGain) {
+        if (samples[sound].length == 0) {
+            return;
+        }
+        int[] voices = position[sound];
+        long[] started = startedAt[sound];
+        int voice = -1;
+        int oldest = 0;
+        for (int v = 0; v < voicesPerSound; v++) {
+            if (voices[v] < 0) {
+                voice = v;
+                break;
+            }
+            if (started[v] < started[oldest]) {
+                oldest = v;
+            }
+        }
+        if (voice < 0) {
+            voice = oldest;
+            steals++;
+        }
+        voices[voice] = 0;
+        started[voice] = ++starts;
+        gain[sound][voice] = voiceGain;
+    }
+
+    public int getActiveVoices() {
+        return activeVoices;
+    }
+
+    // Voices cut off to start a new one
+    public long getSteals() {
+        return steals;
+    }
+
+    public long getUnderruns() {
+        return output.getUnderruns();
+    }
+
+    public long getBuffers() {
+        return buffers;
+    }
+
+    public double getAverageMixMicros() {
+        long n = buffers;
+        return n == 0 ? 0 : mixNanos / 1000.0 / n;
+    }
+
+    // Latency the output buffer adds, in milliseconds
+    public static double getLatencyMillis() {
+        return OUTPUT_BUFFERS * BUFFER_FRAMES * 1000.0 / FORMAT.getSampleRate();
+    }
+}
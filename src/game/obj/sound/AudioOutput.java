@@ -0,0 +1,19 @@
+package game.obj.sound;
+
+import java.io.IOException;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+
+// Where AudioMixer sends its mixed buffers
+public interface AudioOutput {
+
+    void open(AudioFormat format, int bufferBytes) throws IOException, LineUnavailableException;
+
+    // Blocks until there is room for the data, which is what paces the mixer
+    void write(byte[] data, int length) throws IOException;
+
+    // Times the output ran dry before the next buffer arrived, 0 if it can't tell
+    long getUnderruns();
+
+    void close();
+}
@@ -0,0 +1,121 @@
+package game.obj.sound;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * A few Clips opened once on the same decoded sound, rewound and restarted
+ * instead of opening a new line for every play. When all of them are still
+ * playing, the one started longest ago is cut off and reused, so overlapping
+ * shots never need more lines than the pool holds.
+ */
+public class ClipPool {
+
+    private final String name;
+    private final Clip[] clips;
+    private final long[] startedAt;
+    private int size;
+    private long plays;
+    private volatile float volumeDb;
+    private volatile long hits;
+    private volatile long misses;
+
+    public ClipPool(String name, AudioFormat format, byte[] data, int capacity) {
+        this.name = name;
+        clips = new Clip[capacity];
+        startedAt = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            try {
+                Clip clip = AudioSystem.getClip();
+                clip.open(format, data, 0, data.length);
+                clips[size++] = clip;
+            } catch (LineUnavailableException | IllegalArgumentException e) {
+                // No audio device, or it ran out of lines, play with what we have
+                System.err.println("Could not open clip " + (i + 1) + " of " + capacity + " for " + name + ": " + e.getMessage());
+                break;
+            }
+        }
+    }
+
+    // Called from one thread at a time, and must not block
+    public void play() {
+        play(1f);
+    }
+
+    // gain scales this play on top of the volume, 1.0 is unchanged
+    public void play(float gain) {
+        if (size == 0) {
+            return;
+        }
+        int oldest = 0;
+        for (int i = 0; i < size; i++) {
+            if (!clips[i].isRunning()) {
+                start(i, gain);
+                hits++;
+                return;
+            }
+            if (startedAt[i] < startedAt[oldest]) {
+                oldest = i;
+            }
+        }
+        clips[oldest].stop();
+        start(oldest, gain);
+        misses++;
+    }
+
+    private void start(int i, float gain) {
+        Clip clip = clips[i];
+        setGain(clip, volumeDb + decibels(gain));
+        clip.setFramePosition(0);
+        clip.start();
+        startedAt[i] = ++plays;
+    }
+
+    // Cuts off every clip, the next plays all find an idle one
+    public void stop() {
+        for (int i = 0; i < size; i++) {
+            clips[i].stop();
+        }
+    }
+
+    // volume should be between 0.0 and 1.0
+    public void setVolume(float volume) {
+        volumeDb = decibels(volume);
+        for (int i = 0; i < size; i++) {
+            setGain(clips[i], volumeDb);
+        }
+    }
+
+    private static float decibels(float gain) {
+        return (float) (Math.log(gain) / Math.log(10.0) * 20.0);
+    }
+
+    private static void setGain(Clip clip, float dB) {
+        if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
+            FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
+            gainControl.setValue(Math.max(gainControl.getMinimum(), Math.min(gainControl.getMaximum(), dB)));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Clips actually opened, less than asked for when the device ran out of lines
+    public int getSize() {
+        return size;
+    }
+
+    // Plays that found an idle clip
+    public long getHits() {
+        return hits;
+    }
+
+    // Plays that had to cut off the oldest clip
+    public long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,93 @@
+package game.obj.sound;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import javax.sound.sampled.AudioFormat;
+
+// Writes the mix to a WAV file, to listen to or compare what the mixer produced
+public class FileOutput extends NullOutput {
+
+    private final File file;
+    private OutputStream out;
+    private AudioFormat format;
+    private long dataBytes;
+
+    public FileOutput(File file, boolean realTime) {
+        super(realTime);
+        this.file = file;
+    }
+
+    @Override
+    public void open(AudioFormat format, int bufferBytes) throws IOException {
+        super.open(format, bufferBytes);
+        this.format = format;
+        out = new BufferedOutputStream(new FileOutputStream(file));
+        // Sizes are patched in on close
+        out.write(new byte[44]);
+    }
+
+    @Override
+    public void write(byte[] data, int length) throws IOException {
+        out.write(data, 0, length);
+        dataBytes += length;
+        super.write(data, length);
+    }
+
+    @Override
+    public void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.write(header());
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing " + file + ": " + e.getMessage());
+        }
+        out = null;
+    }
+
+    // RIFF header for 16-bit PCM
+    private byte[] header() {
+        int channels = format.getChannels();
+        int rate = (int) format.getSampleRate();
+        int blockAlign = format.getFrameSize();
+        byte[] h = new byte[44];
+        putAscii(h, 0, "RIFF");
+        putInt(h, 4, (int) (36 + dataBytes));
+        putAscii(h, 8, "WAVE");
+        putAscii(h, 12, "fmt ");
+        putInt(h, 16, 16);
+        putShort(h, 20, 1);
+        putShort(h, 22, channels);
+        putInt(h, 24, rate);
+        putInt(h, 28, rate * blockAlign);
+        putShort(h, 32, blockAlign);
+        putShort(h, 34, format.getSampleSizeInBits());
+        putAscii(h, 36, "data");
+        putInt(h, 40, (int) dataBytes);
+        return h;
+    }
+
+    private static void putAscii(byte[] b, int at, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            b[at + i] = (byte) s.charAt(i);
+        }
+    }
+
+    private static void putShort(byte[] b, int at, int v) {
+        b[at] = (byte) v;
+        b[at + 1] = (byte) (v >> 8);
+    }
+
+    private static void putInt(byte[] b, int at, int v) {
+        putShort(b, at, v);
+        putShort(b, at + 2, v >> 16);
+    }
+}
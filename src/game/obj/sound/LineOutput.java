@@ -0,0 +1,55 @@
+package game.obj.sound;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+// The sound card, through a single SourceDataLine
+public class LineOutput implements AudioOutput {
+
+    private SourceDataLine line;
+    private boolean started;
+    private volatile long underruns;
+
+    @Override
+    public void open(AudioFormat format, int bufferBytes) throws LineUnavailableException {
+        try {
+            line = AudioSystem.getSourceDataLine(format);
+        } catch (IllegalArgumentException e) {
+            // No device at all, reported the same way as a busy one
+            throw new LineUnavailableException(e.getMessage());
+        }
+        line.open(format, bufferBytes);
+    }
+
+    @Override
+    public void write(byte[] data, int length) {
+        if (!started) {
+            // Fill the buffer once before starting so the first mix isn't an underrun
+            line.write(data, 0, length);
+            if (line.available() < length) {
+                line.start();
+                started = true;
+            }
+            return;
+        }
+        if (line.available() >= line.getBufferSize()) {
+            underruns++;
+        }
+        line.write(data, 0, length);
+    }
+
+    @Override
+    public long getUnderruns() {
+        return underruns;
+    }
+
+    @Override
+    public void close() {
+        if (line != null) {
+            line.stop();
+            line.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package game.obj.sound;
+
+import java.io.File;
+import java.util.Random;
+
+/**
+ * Drives the software mixer with game-like fire on its real thread, writing
+ * to a WAV file or to nowhere, and reports voices, steals and mix cost. Needs
+ * no audio device, so the mixer can be checked on a build machine.
+ * Run with java -cp dist/plane-game.jar game.obj.sound.MixerCheck [seconds] [out.wav or "null"] [voices per sound]
+ */
+public class MixerCheck {
+
+    // One shot every 75 ms like the game's fire rate, hits and kills at random
+    private static final long SHOT_NANOS = 75_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        String target = args.length > 1 ? args[1] : "null";
+        int voices = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        AudioOutput output = "null".equals(target) ? new NullOutput(true) : new FileOutput(new File(target), true);
+        AudioMixer mixer = new AudioMixer(SoundBank.getInstance(), output, voices);
+        mixer.setVolume(0.8f);
+        mixer.start();
+
+        Random ran = new Random(1);
+        int peakVoices = 0;
+        long triggers = 0;
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long nextShot = start;
+        while (System.nanoTime() < end) {
+            mixer.play(SoundBank.SHOOT);
+            if (ran.nextInt(4) == 0) {
+                mixer.play(SoundBank.HIT);
+                triggers++;
+            }
+            if (ran.nextInt(10) == 0) {
+                mixer.play(SoundBank.DESTROY);
+                triggers++;
+            }
+            triggers++;
+            peakVoices = Math.max(peakVoices, mixer.getActiveVoices());
+            nextShot += SHOT_NANOS;
+            Thread.sleep(Math.max(0, (nextShot - System.nanoTime()) / 1_000_000L));
+        }
+        mixer.stop();
+
+        double played = mixer.getBuffers() * AudioMixer.BUFFER_FRAMES / AudioMixer.FORMAT.getSampleRate();
+        System.out.printf("Output: %s, %d voices per sound, %.1f ms output latency%n",
+                target, voices, AudioMixer.getLatencyMillis());
+        System.out.printf("Triggers: %d, peak voices: %d, steals: %d, underruns: %d%n",
+                triggers, peakVoices, mixer.getSteals(), mixer.getUnderruns());
+        System.out.printf("Mixed %.1f s of audio in %d buffers, %.1f us per %.1f ms buffer%n",
+                played, mixer.getBuffers(), mixer.getAverageMixMicros(),
+                AudioMixer.BUFFER_FRAMES * 1000.0 / AudioMixer.FORMAT.getSampleRate());
+    }
+}
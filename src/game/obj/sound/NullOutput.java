@@ -0,0 +1,54 @@
+package game.obj.sound;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Throws the mix away, for running the mixer without an audio device. In
+ * real time it blocks like a sound card draining its buffer would, otherwise
+ * it returns at once and the mixer runs flat out.
+ */
+public class NullOutput implements AudioOutput {
+
+    private final boolean realTime;
+    private long bytesPerSecond;
+    private long bufferNanos;
+    private long deadline;
+
+    public NullOutput(boolean realTime) {
+        this.realTime = realTime;
+    }
+
+    @Override
+    public void open(AudioFormat format, int bufferBytes) throws IOException {
+        bytesPerSecond = (long) (format.getFrameRate() * format.getFrameSize());
+        bufferNanos = bufferBytes * 1_000_000_000L / bytesPerSecond;
+    }
+
+    @Override
+    public void write(byte[] data, int length) throws IOException {
+        if (!realTime) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (deadline == 0) {
+            deadline = now;
+        }
+        deadline += length * 1_000_000_000L / bytesPerSecond;
+        // Like a device, only block once the buffer is full
+        long wait = deadline - bufferNanos - now;
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    @Override
+    public long getUnderruns() {
+        return 0;
+    }
+
+    @Override
+    public void close() {
+    }
+}
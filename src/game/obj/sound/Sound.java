@@ -1,103 +1,111 @@
 package game.obj.sound;
 
+import game.engine.SoundSink;
+import game.util.GameSettings;
+
 import java.io.IOException;
-import java.net.URL;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.LineEvent;
-import javax.sound.sampled.LineListener;
 import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.UnsupportedAudioFileException;
 
-import game.util.GameSettings;
+/**
+ * Plays effects from the shared SoundBank through one of two engines:
+ * "Clips" rewinds a pooled clip per play, "Mixer" mixes every voice on its
+ * own thread into a single line. If the mixer can't get a line it falls
+ * back to clips. Cues from the game go through a SoundDispatcher, so the
+ * engines are only driven from its worker thread, never from the tick.
+ * Call close() when the game ends.
+ */
+public class Sound implements SoundSink {
 
-import javax.sound.sampled.FloatControl;
+    private static final int MIXER_VOICES = 4;
 
-public class Sound {
-
-    private final URL shoot;
-    private final URL hit;
-    private final URL destroy;
-    private Clip soundShoot;
-    private Clip soundHit;
-    private Clip soundDestroy;
+    private final ClipPool[] pools;
+    private final AudioMixer mixer;
+    private final SoundDispatcher dispatcher;
 
     public Sound() {
-        this.shoot = this.getClass().getClassLoader().getResource("game/obj/sound/shoot.wav");
-        this.hit = this.getClass().getClassLoader().getResource("game/obj/sound/hit.wav");
-        this.destroy = this.getClass().getClassLoader().getResource("game/obj/sound/destroy.wav");
+        this(GameSettings.getInstance().getSoundEngine());
     }
 
+    public Sound(String engine) {
+        SoundBank bank = SoundBank.getInstance();
+        AudioMixer started = null;
+        if ("Mixer".equals(engine)) {
+            started = new AudioMixer(bank, new LineOutput(), MIXER_VOICES);
+            try {
+                started.start();
+            } catch (IOException | LineUnavailableException e) {
+                System.err.println("Sound mixer unavailable, using clips: " + e.getMessage());
+                started = null;
+            }
+        }
+        mixer = started;
+        pools = mixer == null ? bank.getPools() : null;
+        dispatcher = new SoundDispatcher(this::play);
+    }
+
+    @Override
     public void soundShoot() {
-        play(shoot);
+        dispatcher.soundShoot();
     }
 
+    @Override
     public void soundHit() {
-        play(hit);
+        dispatcher.soundHit();
     }
 
+    @Override
     public void soundDestroy() {
-        play(destroy);
+        dispatcher.soundDestroy();
+    }
+
+    @Override
+    public void endTick() {
+        dispatcher.endTick();
+    }
+
+    // Dispatcher thread only
+    private void play(int id, float gain) {
+        if (mixer != null) {
+            mixer.play(id, gain);
+        } else {
+            pools[id].play(gain);
+        }
     }
 
     public void setVolume(float volume) {
         // volume should be between 0.0 and 1.0
         float normalizedVolume = volume / 100f;
-        
-        // Apply volume to all clips
-        if (soundShoot != null) {
-            setClipVolume(soundShoot, normalizedVolume);
-        }
-        if (soundHit != null) {
-            setClipVolume(soundHit, normalizedVolume);
+        if (mixer != null) {
+            mixer.setVolume(normalizedVolume);
+            return;
         }
-        if (soundDestroy != null) {
-            setClipVolume(soundDestroy, normalizedVolume);
+        for (ClipPool pool : pools) {
+            pool.setVolume(normalizedVolume);
         }
     }
 
-    private void setClipVolume(Clip clip, float volume) {
-        if (clip != null) {
-            FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-            float dB = (float) (Math.log(volume) / Math.log(10.0) * 20.0);
-            dB = Math.max(dB, gainControl.getMinimum());
-            dB = Math.min(dB, gainControl.getMaximum());
-            gainControl.setValue(dB);
+    // Stops the dispatcher and mixer threads, pooled clips stay open for the next game
+    public void close() {
+        dispatcher.close();
+        if (mixer != null) {
+            mixer.stop();
         }
     }
 
-    private void play(URL url) {
-    try {
-        AudioInputStream audioIn = AudioSystem.getAudioInputStream(url);
-        Clip clip = AudioSystem.getClip();
-        clip.open(audioIn);
-        clip.addLineListener(new LineListener() {
-            @Override
-            public void update(LineEvent event) {
-                if (event.getType() == LineEvent.Type.STOP) {
-                    clip.close();
-                }
-            }
-        });
-        audioIn.close();
-        
-        // Store reference to the clip for volume control
-        if (url.equals(shoot)) {
-            soundShoot = clip;
-        } else if (url.equals(hit)) {
-            soundHit = clip;
-        } else if (url.equals(destroy)) {
-            soundDestroy = clip;
+    // Engine counters for the debug HUD
+    public String getStatus() {
+        String cues = String.format(" | cues %d played / %d merged / %d dropped",
+                dispatcher.getPlayed(), dispatcher.getMerged(), dispatcher.getDropped());
+        if (mixer != null) {
+            return String.format("mixer %d voices / %d steals / %d underruns",
+                    mixer.getActiveVoices(), mixer.getSteals(), mixer.getUnderruns()) + cues;
+        }
+        long hits = 0;
+        long misses = 0;
+        for (ClipPool pool : pools) {
+            hits += pool.getHits();
+            misses += pool.getMisses();
         }
-        
-        // Apply current volume from game settings before playing
-        setVolume(GameSettings.getInstance().getVolume());
-        
-        clip.start();
-    } catch (IOException | LineUnavailableException | UnsupportedAudioFileException e) {
-        System.err.println(e);
+        return String.format("clips %d hits / %d misses", hits, misses) + cues;
     }
 }
-
-}
@@ -0,0 +1,103 @@
+package game.obj.sound;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Every sound effect, decoded once into a 16-bit PCM buffer and shared by
+ * every game afterwards. The Clips engine plays them through ClipPools
+ * opened on first use; the mixer engine reads the buffers directly.
+ * preload() at startup keeps the WAV decoding, and for the Clips engine
+ * the opening of audio lines, out of the game loop.
+ */
+public class SoundBank {
+
+    //  Effect ids
+    public static final int SHOOT = 0;
+    public static final int HIT = 1;
+    public static final int DESTROY = 2;
+    public static final int COUNT = 3;
+
+    private static final String SOUND_DIR = "/game/obj/sound/";
+    private static final String[] FILES = {"shoot.wav", "hit.wav", "destroy.wav"};
+    // Clips per effect, shots overlap a lot more than this but each cut-off tail is quiet
+    private static final int POOL_SIZE = 6;
+
+    private static SoundBank instance;
+
+    private final AudioFormat[] formats = new AudioFormat[COUNT];
+    private final byte[][] data = new byte[COUNT][];
+    private ClipPool[] pools;
+
+    private SoundBank() {
+        for (int i = 0; i < COUNT; i++) {
+            load(i);
+        }
+    }
+
+    public static synchronized SoundBank getInstance() {
+        if (instance == null) {
+            instance = new SoundBank();
+        }
+        return instance;
+    }
+
+    public static void preload(boolean openClips) {
+        SoundBank bank = getInstance();
+        if (openClips) {
+            bank.getPools();
+        }
+    }
+
+    private void load(int id) {
+        String name = FILES[id];
+        data[id] = new byte[0];
+        try (InputStream in = SoundBank.class.getResourceAsStream(SOUND_DIR + name)) {
+            if (in == null) {
+                System.err.println("Missing sound: " + name);
+                return;
+            }
+            AudioInputStream audioIn = AudioSystem.getAudioInputStream(new BufferedInputStream(in));
+            AudioFormat format = audioIn.getFormat();
+            if (format.getEncoding() != AudioFormat.Encoding.PCM_SIGNED || format.getSampleSizeInBits() != 16
+                    || format.isBigEndian()) {
+                format = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+                audioIn = AudioSystem.getAudioInputStream(format, audioIn);
+            }
+            data[id] = audioIn.readAllBytes();
+            formats[id] = format;
+            audioIn.close();
+        } catch (IOException | UnsupportedAudioFileException e) {
+            System.err.println("Error loading sound " + name + ": " + e.getMessage());
+        }
+    }
+
+    // One pool per effect, indexed by effect id, opened on the first call
+    public synchronized ClipPool[] getPools() {
+        if (pools == null) {
+            pools = new ClipPool[COUNT];
+            for (int i = 0; i < COUNT; i++) {
+                pools[i] = new ClipPool(FILES[i], formats[i], data[i], formats[i] != null ? POOL_SIZE : 0);
+            }
+        }
+        return pools;
+    }
+
+    public String getName(int id) {
+        return FILES[id];
+    }
+
+    // 16-bit signed little-endian at the file's rate and channels, null if it failed to load
+    public AudioFormat getFormat(int id) {
+        return formats[id];
+    }
+
+    public byte[] getData(int id) {
+        return data[id];
+    }
+}
@@ -0,0 +1,178 @@
+package game.obj.sound;
+
+import game.engine.SoundSink;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes sound cues from the simulation thread and plays them on a worker
+ * thread, so starting a sound never costs the tick anything but a ring
+ * write. Cues of a tick are only published by endTick(), which lets the
+ * worker see whole ticks: identical cues from the same tick become one
+ * play with a gain boost instead of several voices starting together.
+ * <p>
+ * One producer, one consumer. The ring is never waited on; a cue that finds
+ * it full is dropped and counted.
+ */
+public class SoundDispatcher implements SoundSink {
+
+    // Plays one merged cue, called only from the worker thread
+    public interface Target {
+
+        void play(int sound, float gain);
+    }
+
+    // 4096 cues is over a second of the worst ultimate fire
+    private static final int CAPACITY = 4096;
+    private static final int MASK = CAPACITY - 1;
+    // Each extra copy adds like an uncorrelated voice, sqrt(n), up to +6 dB
+    private static final float MAX_BOOST = 2f;
+
+    private final Target target;
+    // Tick << 8 | sound id
+    private final long[] ring = new long[CAPACITY];
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    //  Producer side, only touched by the simulation thread
+    private long tick;
+    private long written;
+    private long consumedCache;
+
+    //  Consumer side, only touched by the worker
+    private final int[] counts = new int[SoundBank.COUNT];
+
+    private final Thread worker;
+    private volatile boolean sleeping;
+    private volatile boolean running = true;
+
+    //  Stats
+    private volatile long dropped;
+    private volatile long played;
+    private volatile long merged;
+
+    public SoundDispatcher(Target target) {
+        this.target = target;
+        worker = new Thread(this::run, "sound-dispatch");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void soundShoot() {
+        post(SoundBank.SHOOT);
+    }
+
+    @Override
+    public void soundHit() {
+        post(SoundBank.HIT);
+    }
+
+    @Override
+    public void soundDestroy() {
+        post(SoundBank.DESTROY);
+    }
+
+    private void post(int sound) {
+        if (written - consumedCache >= CAPACITY) {
+            consumedCache = consumed.get();
+            if (written - consumedCache >= CAPACITY) {
+                dropped++;
+                return;
+            }
+        }
+        ring[(int) (written & MASK)] = tick << 8 | sound;
+        written++;
+    }
+
+    // Publishes the tick's cues and wakes the worker if it is parked
+    @Override
+    public void endTick() {
+        tick++;
+        if (written == published.get()) {
+            return;
+        }
+        // Volatile store, not lazySet: the ring writes are visible before the
+        // new count, and the sleeping read below can't move ahead of it. The
+        // worker stores sleeping then reads published, so with a weaker store
+        // both sides could miss each other and the worker stay parked.
+        published.set(written);
+        if (sleeping) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void run() {
+        long read = 0;
+        while (running) {
+            long available = published.get();
+            if (read == available) {
+                sleeping = true;
+                // Checked again after announcing, endTick() may have published in between
+                if (published.get() == read && running) {
+                    LockSupport.park(this);
+                }
+                sleeping = false;
+                continue;
+            }
+            while (read < available) {
+                long tickOf = ring[(int) (read & MASK)] >>> 8;
+                int events = 0;
+                while (read < available && ring[(int) (read & MASK)] >>> 8 == tickOf) {
+                    counts[(int) (ring[(int) (read & MASK)] & 0xFF)]++;
+                    read++;
+                    events++;
+                }
+                // Free the slots before playing, the producer can refill them meanwhile
+                consumed.lazySet(read);
+                dispatch(events);
+            }
+        }
+    }
+
+    private void dispatch(int events) {
+        int plays = 0;
+        for (int s = 0; s < SoundBank.COUNT; s++) {
+            int n = counts[s];
+            if (n == 0) {
+                continue;
+            }
+            counts[s] = 0;
+            plays++;
+            try {
+                target.play(s, Math.min(MAX_BOOST, (float) Math.sqrt(n)));
+            } catch (RuntimeException e) {
+                System.err.println("Error playing sound " + s + ": " + e.getMessage());
+            }
+        }
+        played += plays;
+        merged += events - plays;
+    }
+
+    // Stops the worker, cues still in the ring are dropped
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Cues lost to a full ring
+    public long getDropped() {
+        return dropped;
+    }
+
+    // Plays handed to the target after merging
+    public long getPlayed() {
+        return played;
+    }
+
+    // Cues folded into another play of the same tick
+    public long getMerged() {
+        return merged;
+    }
+}
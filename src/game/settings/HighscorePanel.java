@@ -4,6 +4,7 @@ import game.main.Main;
 import game.util.HighscoreManager;
 import game.util.HighscoreManager.HighscoreEntry;
 import game.util.GameSettings;
+import game.util.AssetRegistry;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -27,7 +28,7 @@ public class HighscorePanel extends JPanel {
         setLayout(new BorderLayout());
         
         try {
-            backgroundImage = new ImageIcon(getClass().getResource("/game/image/BG.png")).getImage();
+            backgroundImage = AssetRegistry.getImage(AssetRegistry.BACKGROUND);
         } catch (Exception e) {
             System.err.println("Error loading highscore background: " + e.getMessage());
         }
@@ -184,7 +185,12 @@ public class HighscorePanel extends JPanel {
         bestScoreLabel.setForeground(Color.WHITE);
         bestScoreLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
-        JLabel userRankLabel = new JLabel("Rank: " + (userRank > 0 ? "#" + userRank : "Not ranked"), JLabel.CENTER);
+        int playerCount = highscoreManager.getPlayerCount();
+        double percentile = highscoreManager.getPlayerPercentile(currentUser);
+        String rankText = userRank > 0 && percentile >= 0
+            ? String.format("#%d of %d (at or above %.0f%% of players)", userRank, playerCount, percentile)
+            : "Not ranked";
+        JLabel userRankLabel = new JLabel("Rank: " + rankText, JLabel.CENTER);
         userRankLabel.setFont(new Font("Arial", Font.PLAIN, 14));
         userRankLabel.setForeground(Color.WHITE);
         userRankLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -247,13 +253,7 @@ public class HighscorePanel extends JPanel {
     }
     
     private void clearHighscores() {
-        // Clear the highscore file
-        java.io.File file = new java.io.File("highscores.dat");
-        if (file.exists()) {
-            file.delete();
-        }
-        
-        // Clear the highscore manager
+        // Clear the highscore manager and its log
         highscoreManager.clearAllScores();
         
         // Refresh the panel
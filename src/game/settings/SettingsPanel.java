@@ -1,8 +1,10 @@
 package game.settings;
 
+import game.component.GameLoop;
 import game.main.Main;
 import game.util.UserProfile;
 import game.util.GameSettings;
+import game.util.AssetRegistry;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -21,6 +23,15 @@ public class SettingsPanel extends JPanel {
     private JSlider volumeSlider;
     private JSlider brightnessSlider;
     private JComboBox<String> difficultyComboBox;
+    private JComboBox<String> tickRateComboBox;
+    private JCheckBox pipelinedCheckBox;
+    private JCheckBox recordReplaysCheckBox;
+    private JComboBox<String> soundEngineComboBox;
+    private JComboBox<String> renderBackendComboBox;
+    private JCheckBox refreshRateCheckBox;
+    private JComboBox<String> spriteQualityComboBox;
+    private JComboBox<String> renderScaleComboBox;
+    private JCheckBox adaptiveQualityCheckBox;
     private JComboBox<String> userProfileComboBox;
     private JButton createUserButton;
     private JButton deleteUserButton;
@@ -28,6 +39,9 @@ public class SettingsPanel extends JPanel {
     private JButton saveButton;
     private JTextArea difficultyDescriptionArea;
     
+    private static final int[] SPRITE_ROTATION_STEPS = {0, 1, 2, 5};
+    private static final int[] RENDER_SCALES = {100, 85, 75, 67, 50};
+    
     // Current settings
     private GameSettings gameSettings;
     private List<UserProfile> userProfiles;
@@ -40,7 +54,7 @@ public class SettingsPanel extends JPanel {
         setLayout(new BorderLayout());
         
         try {
-            backgroundImage = new ImageIcon(getClass().getResource("/game/image/BG.png")).getImage();
+            backgroundImage = AssetRegistry.getImage(AssetRegistry.BACKGROUND);
         } catch (Exception e) {
             System.err.println("Error loading settings background: " + e.getMessage());
         }
@@ -88,6 +102,10 @@ public class SettingsPanel extends JPanel {
             }
         });
         volumePanel.add(volumeSlider);
+        String[] soundEngines = {"Clips", "Mixer"};
+        soundEngineComboBox = new JComboBox<>(soundEngines);
+        soundEngineComboBox.setSelectedItem(gameSettings.getSoundEngine());
+        volumePanel.add(soundEngineComboBox);
         container.add(volumePanel);
         container.add(Box.createRigidArea(new Dimension(0, 15)));
         
@@ -120,6 +138,63 @@ public class SettingsPanel extends JPanel {
         container.add(difficultyPanel);
         container.add(Box.createRigidArea(new Dimension(0, 15)));
         
+        // Simulation rate settings
+        JPanel tickRatePanel = createSettingPanel("Simulation Rate");
+        tickRateComboBox = new JComboBox<>(getTickRateLabels());
+        tickRateComboBox.setSelectedItem(gameSettings.getTickRate() + " Hz");
+        tickRatePanel.add(tickRateComboBox);
+        pipelinedCheckBox = new JCheckBox("Render on a separate thread (multi-core)");
+        pipelinedCheckBox.setOpaque(false);
+        pipelinedCheckBox.setForeground(Color.WHITE);
+        pipelinedCheckBox.setSelected(gameSettings.isPipelinedRendering());
+        tickRatePanel.add(pipelinedCheckBox);
+        recordReplaysCheckBox = new JCheckBox("Record each game for replay");
+        recordReplaysCheckBox.setOpaque(false);
+        recordReplaysCheckBox.setForeground(Color.WHITE);
+        recordReplaysCheckBox.setSelected(gameSettings.isRecordReplays());
+        tickRatePanel.add(recordReplaysCheckBox);
+        container.add(tickRatePanel);
+        container.add(Box.createRigidArea(new Dimension(0, 15)));
+        
+        // Renderer settings
+        JPanel rendererPanel = createSettingPanel("Renderer");
+        String[] backends = {"Image", "Volatile", "BufferStrategy"};
+        renderBackendComboBox = new JComboBox<>(backends);
+        renderBackendComboBox.setSelectedItem(gameSettings.getRenderBackend());
+        rendererPanel.add(renderBackendComboBox);
+        refreshRateCheckBox = new JCheckBox("Match display refresh rate");
+        refreshRateCheckBox.setOpaque(false);
+        refreshRateCheckBox.setForeground(Color.WHITE);
+        refreshRateCheckBox.setSelected(gameSettings.isLockToRefreshRate());
+        rendererPanel.add(refreshRateCheckBox);
+        // Memory is for all three plane and rocket atlases together
+        String[] spriteQualities = {"Rotate every frame", "1° steps (~33 MB)", "2° steps (~16 MB)", "5° steps (~7 MB)"};
+        spriteQualityComboBox = new JComboBox<>(spriteQualities);
+        spriteQualityComboBox.setSelectedIndex(getSpriteQualityIndex(gameSettings.getSpriteRotationStep()));
+        rendererPanel.add(spriteQualityComboBox);
+        renderScaleComboBox = new JComboBox<>(getRenderScaleLabels());
+        renderScaleComboBox.setSelectedIndex(getRenderScaleIndex(gameSettings.getRenderScale()));
+        renderScaleComboBox.addActionListener(e -> {
+            gameSettings.setRenderScale(RENDER_SCALES[renderScaleComboBox.getSelectedIndex()]);
+            if (mainFrame.isGameActive()) {
+                mainFrame.applyGameSettings();
+            }
+        });
+        rendererPanel.add(renderScaleComboBox);
+        adaptiveQualityCheckBox = new JCheckBox("Lower quality automatically to hold the frame rate");
+        adaptiveQualityCheckBox.setOpaque(false);
+        adaptiveQualityCheckBox.setForeground(Color.WHITE);
+        adaptiveQualityCheckBox.setSelected(gameSettings.isAdaptiveQuality());
+        adaptiveQualityCheckBox.addActionListener(e -> {
+            gameSettings.setAdaptiveQuality(adaptiveQualityCheckBox.isSelected());
+            if (mainFrame.isGameActive()) {
+                mainFrame.applyGameSettings();
+            }
+        });
+        rendererPanel.add(adaptiveQualityCheckBox);
+        container.add(rendererPanel);
+        container.add(Box.createRigidArea(new Dimension(0, 15)));
+        
         // User profile settings
         JPanel userPanel = createSettingPanel("User Profile");
         
@@ -228,6 +303,15 @@ public class SettingsPanel extends JPanel {
         volumeSlider.setValue(gameSettings.getVolume());
         brightnessSlider.setValue(gameSettings.getBrightness());
         difficultyComboBox.setSelectedItem(gameSettings.getDifficulty());
+        tickRateComboBox.setSelectedItem(gameSettings.getTickRate() + " Hz");
+        pipelinedCheckBox.setSelected(gameSettings.isPipelinedRendering());
+        recordReplaysCheckBox.setSelected(gameSettings.isRecordReplays());
+        soundEngineComboBox.setSelectedItem(gameSettings.getSoundEngine());
+        renderBackendComboBox.setSelectedItem(gameSettings.getRenderBackend());
+        refreshRateCheckBox.setSelected(gameSettings.isLockToRefreshRate());
+        spriteQualityComboBox.setSelectedIndex(getSpriteQualityIndex(gameSettings.getSpriteRotationStep()));
+        renderScaleComboBox.setSelectedIndex(getRenderScaleIndex(gameSettings.getRenderScale()));
+        adaptiveQualityCheckBox.setSelected(gameSettings.isAdaptiveQuality());
         userProfileComboBox.setSelectedItem(gameSettings.getCurrentUser());
         updateDifficultyDescription();
     }
@@ -298,6 +382,15 @@ public class SettingsPanel extends JPanel {
         gameSettings.setVolume(volumeSlider.getValue());
         gameSettings.setBrightness(brightnessSlider.getValue());
         gameSettings.setDifficulty((String) difficultyComboBox.getSelectedItem());
+        gameSettings.setTickRate(Integer.parseInt(((String) tickRateComboBox.getSelectedItem()).replace(" Hz", "")));
+        gameSettings.setPipelinedRendering(pipelinedCheckBox.isSelected());
+        gameSettings.setRecordReplays(recordReplaysCheckBox.isSelected());
+        gameSettings.setSoundEngine((String) soundEngineComboBox.getSelectedItem());
+        gameSettings.setRenderBackend((String) renderBackendComboBox.getSelectedItem());
+        gameSettings.setLockToRefreshRate(refreshRateCheckBox.isSelected());
+        gameSettings.setSpriteRotationStep(SPRITE_ROTATION_STEPS[spriteQualityComboBox.getSelectedIndex()]);
+        gameSettings.setRenderScale(RENDER_SCALES[renderScaleComboBox.getSelectedIndex()]);
+        gameSettings.setAdaptiveQuality(adaptiveQualityCheckBox.isSelected());
         gameSettings.setCurrentUser((String) userProfileComboBox.getSelectedItem());
         gameSettings.saveSettings();
     }
@@ -356,6 +449,42 @@ public class SettingsPanel extends JPanel {
         }
     }
     
+    private int getSpriteQualityIndex(int step) {
+        for (int i = 0; i < SPRITE_ROTATION_STEPS.length; i++) {
+            if (SPRITE_ROTATION_STEPS[i] == step) {
+                return i;
+            }
+        }
+        return 0;
+    }
+    
+    // Nearest offered scale, so a hand-edited settings file still selects something sensible
+    private int getRenderScaleIndex(int scale) {
+        int best = 0;
+        for (int i = 1; i < RENDER_SCALES.length; i++) {
+            if (Math.abs(RENDER_SCALES[i] - scale) < Math.abs(RENDER_SCALES[best] - scale)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+    
+    private String[] getRenderScaleLabels() {
+        String[] labels = new String[RENDER_SCALES.length];
+        for (int i = 0; i < RENDER_SCALES.length; i++) {
+            labels[i] = RENDER_SCALES[i] == 100 ? "Render scale 100% (native)" : "Render scale " + RENDER_SCALES[i] + "%";
+        }
+        return labels;
+    }
+    
+    private String[] getTickRateLabels() {
+        String[] labels = new String[GameLoop.TICK_RATES.length];
+        for (int i = 0; i < GameLoop.TICK_RATES.length; i++) {
+            labels[i] = GameLoop.TICK_RATES[i] + " Hz";
+        }
+        return labels;
+    }
+    
     private String[] getUserProfileNames() {
         String[] names = new String[userProfiles.size()];
         for (int i = 0; i < userProfiles.size(); i++) {
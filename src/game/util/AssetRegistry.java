@@ -0,0 +1,89 @@
+package game.util;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.imageio.ImageIO;
+
+/**
+ * Every image under /game/image, decoded once into screen-compatible
+ * images and shared by the game objects and menus. preload() decodes
+ * them all in parallel at startup so nothing is decoded mid-game.
+ */
+public class AssetRegistry {
+
+    private static final String IMAGE_DIR = "/game/image/";
+
+    public static final String BACKGROUND = "BG.png";
+    public static final String WINDOW = "Window.png";
+    public static final String START_BUTTON = "Start_BTN.png";
+    public static final String EXIT_BUTTON = "Exit_BTN.png";
+    public static final String SETTINGS_BUTTON = "Settings_BTN.png";
+    public static final String RATING_BUTTON = "Rating_BTN.png";
+    public static final String PLANE = "plane.png";
+    public static final String PLANE_SPEED = "plane_speed.png";
+    public static final String ROCKET = "rocket.png";
+
+    private static final String[] IMAGES = {
+        BACKGROUND, WINDOW, START_BUTTON, EXIT_BUTTON, SETTINGS_BUTTON, RATING_BUTTON, PLANE, PLANE_SPEED, ROCKET
+    };
+
+    private static final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+
+    public static void preload() {
+        Arrays.stream(IMAGES).parallel().forEach(AssetRegistry::getImage);
+    }
+
+    // Falls back to decoding on the calling thread if preload() hasn't run, null if the image can't be read
+    public static BufferedImage getImage(String name) {
+        BufferedImage image = images.get(name);
+        if (image == null) {
+            image = load(name);
+            if (image != null) {
+                BufferedImage existing = images.putIfAbsent(name, image);
+                if (existing != null) {
+                    image = existing;
+                }
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage load(String name) {
+        try (InputStream in = AssetRegistry.class.getResourceAsStream(IMAGE_DIR + name)) {
+            if (in == null) {
+                System.err.println("Missing image: " + name);
+                return null;
+            }
+            BufferedImage decoded = ImageIO.read(in);
+            BufferedImage image = createCompatibleImage(decoded.getWidth(), decoded.getHeight());
+            Graphics2D g2 = image.createGraphics();
+            g2.drawImage(decoded, 0, 0, null);
+            g2.dispose();
+            return image;
+        } catch (IOException e) {
+            System.err.println("Error loading image " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        return createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    // Transparency.OPAQUE for buffers that are always fully painted, they blit faster
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(width, height, transparency);
+    }
+}
@@ -0,0 +1,194 @@
+package game.util;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Dense array of live entities with recycled instances.
+ * Live entities sit in [0, size()) so the hot loops can iterate by index.
+ * despawn() only marks an entity, so indices stay valid while a loop is
+ * running. flush() then swap-removes every marked entity and hands it
+ * back to the pool, where the next spawn() picks it up again.
+ * <p>
+ * Each entity also gets a generational handle that survives swaps. A
+ * handle to a despawned entity stays stale even after its slot is reused.
+ */
+public class EntityArena<T> {
+
+    private final Supplier<T> factory;
+
+    //  Live entities and the slot each one owns
+    private Object[] dense;
+    private int[] denseSlot;
+    private boolean[] removed;
+    private int size;
+
+    //  Slot table behind the handles
+    private int[] slotIndex;
+    private int[] slotGeneration;
+    private int[] freeSlots;
+    private int freeSlotCount;
+    private int slotCount;
+
+    //  Deferred removals, as dense indices
+    private int[] pending = new int[16];
+    private int pendingCount;
+
+    //  Released instances waiting to be reused
+    private Object[] pool;
+    private int poolSize;
+
+    private long allocated;
+
+    public EntityArena(Supplier<T> factory) {
+        this(factory, 32);
+    }
+
+    public EntityArena(Supplier<T> factory, int capacity) {
+        this.factory = factory;
+        dense = new Object[capacity];
+        denseSlot = new int[capacity];
+        removed = new boolean[capacity];
+        slotIndex = new int[capacity];
+        slotGeneration = new int[capacity];
+        freeSlots = new int[capacity];
+        pool = new Object[capacity];
+    }
+
+    // Appends a pooled instance, or a new one when the pool is empty.
+    // The caller must reinitialise every field it relies on.
+    @SuppressWarnings("unchecked")
+    public T spawn() {
+        T entity;
+        if (poolSize > 0) {
+            entity = (T) pool[--poolSize];
+            pool[poolSize] = null;
+        } else {
+            entity = factory.get();
+            allocated++;
+        }
+        if (size == dense.length) {
+            int capacity = dense.length * 2;
+            dense = Arrays.copyOf(dense, capacity);
+            denseSlot = Arrays.copyOf(denseSlot, capacity);
+            removed = Arrays.copyOf(removed, capacity);
+        }
+        int slot = freeSlotCount > 0 ? freeSlots[--freeSlotCount] : newSlot();
+        slotIndex[slot] = size;
+        dense[size] = entity;
+        denseSlot[size] = slot;
+        removed[size] = false;
+        size++;
+        return entity;
+    }
+
+    private int newSlot() {
+        if (slotCount == slotIndex.length) {
+            int capacity = slotIndex.length * 2;
+            slotIndex = Arrays.copyOf(slotIndex, capacity);
+            slotGeneration = Arrays.copyOf(slotGeneration, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return slotCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) dense[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isRemoved(int index) {
+        return removed[index];
+    }
+
+    // Marks the entity at index for removal on the next flush()
+    public void despawn(int index) {
+        if (!removed[index]) {
+            removed[index] = true;
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, pendingCount * 2);
+            }
+            pending[pendingCount++] = index;
+        }
+    }
+
+    public void flush() {
+        if (pendingCount == 0) {
+            return;
+        }
+        // Highest index first, so the entity swapped in is never one still waiting
+        Arrays.sort(pending, 0, pendingCount);
+        for (int i = pendingCount - 1; i >= 0; i--) {
+            remove(pending[i]);
+        }
+        pendingCount = 0;
+    }
+
+    private void remove(int index) {
+        release(index);
+        int last = --size;
+        if (index != last) {
+            dense[index] = dense[last];
+            denseSlot[index] = denseSlot[last];
+            removed[index] = removed[last];
+            slotIndex[denseSlot[index]] = index;
+        }
+        dense[last] = null;
+    }
+
+    private void release(int index) {
+        int slot = denseSlot[index];
+        slotGeneration[slot]++;
+        slotIndex[slot] = -1;
+        freeSlots[freeSlotCount++] = slot;
+        if (poolSize == pool.length) {
+            pool = Arrays.copyOf(pool, poolSize * 2);
+        }
+        pool[poolSize++] = dense[index];
+    }
+
+    // Returns every live entity to the pool
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            release(i);
+            dense[i] = null;
+        }
+        size = 0;
+        pendingCount = 0;
+    }
+
+    // Generation in the high half, slot in the low half
+    public long handle(int index) {
+        int slot = denseSlot[index];
+        return ((long) slotGeneration[slot] << 32) | slot;
+    }
+
+    // The entity behind a handle, or null once it has been removed
+    @SuppressWarnings("unchecked")
+    public T resolve(long handle) {
+        int slot = (int) handle;
+        int generation = (int) (handle >>> 32);
+        if (slot < 0 || slot >= slotCount || slotGeneration[slot] != generation || slotIndex[slot] < 0) {
+            return null;
+        }
+        int index = slotIndex[slot];
+        return removed[index] ? null : (T) dense[index];
+    }
+
+    public int getLiveCount() {
+        return size;
+    }
+
+    public int getPooledCount() {
+        return poolSize;
+    }
+
+    // Instances ever created by the factory, flat during steady-state play
+    public long getAllocatedCount() {
+        return allocated;
+    }
+}
@@ -10,6 +10,15 @@ public class GameSettings {
     private int brightness;
     private String difficulty;
     private String currentUser;
+    private int tickRate;
+    private boolean pipelinedRendering;
+    private String renderBackend;
+    private boolean lockToRefreshRate;
+    private int spriteRotationStep;
+    private int renderScale;
+    private boolean adaptiveQuality;
+    private boolean recordReplays;
+    private String soundEngine;
     
     private final String SETTINGS_FILE = "game_settings.properties";
     
@@ -33,6 +42,15 @@ public class GameSettings {
             brightness = Integer.parseInt(props.getProperty("brightness", "70"));
             difficulty = props.getProperty("difficulty", "Medium");
             currentUser = props.getProperty("currentUser", "Default");
+            tickRate = Integer.parseInt(props.getProperty("tickRate", "60"));
+            pipelinedRendering = Boolean.parseBoolean(props.getProperty("pipelinedRendering", "false"));
+            renderBackend = props.getProperty("renderBackend", "Image");
+            lockToRefreshRate = Boolean.parseBoolean(props.getProperty("lockToRefreshRate", "false"));
+            spriteRotationStep = Integer.parseInt(props.getProperty("spriteRotationStep", "2"));
+            renderScale = Integer.parseInt(props.getProperty("renderScale", "100"));
+            adaptiveQuality = Boolean.parseBoolean(props.getProperty("adaptiveQuality", "true"));
+            recordReplays = Boolean.parseBoolean(props.getProperty("recordReplays", "false"));
+            soundEngine = props.getProperty("soundEngine", "Clips");
             
         } catch (FileNotFoundException e) {
             // File doesn't exist yet, use defaults
@@ -40,6 +58,15 @@ public class GameSettings {
             brightness = 70;
             difficulty = "Medium";
             currentUser = "Default";
+            tickRate = 60;
+            pipelinedRendering = false;
+            renderBackend = "Image";
+            lockToRefreshRate = false;
+            spriteRotationStep = 2;
+            renderScale = 100;
+            adaptiveQuality = true;
+            recordReplays = false;
+            soundEngine = "Clips";
         } catch (IOException e) {
             System.err.println("Error loading settings: " + e.getMessage());
             e.printStackTrace();
@@ -52,6 +79,15 @@ public class GameSettings {
         props.setProperty("brightness", String.valueOf(brightness));
         props.setProperty("difficulty", difficulty);
         props.setProperty("currentUser", currentUser);
+        props.setProperty("tickRate", String.valueOf(tickRate));
+        props.setProperty("pipelinedRendering", String.valueOf(pipelinedRendering));
+        props.setProperty("renderBackend", renderBackend);
+        props.setProperty("lockToRefreshRate", String.valueOf(lockToRefreshRate));
+        props.setProperty("spriteRotationStep", String.valueOf(spriteRotationStep));
+        props.setProperty("renderScale", String.valueOf(renderScale));
+        props.setProperty("adaptiveQuality", String.valueOf(adaptiveQuality));
+        props.setProperty("recordReplays", String.valueOf(recordReplays));
+        props.setProperty("soundEngine", soundEngine);
         
         try (FileOutputStream out = new FileOutputStream(SETTINGS_FILE)) {
             props.store(out, "Game Settings");
@@ -101,4 +137,85 @@ public class GameSettings {
     public void setCurrentUser(String currentUser) {
         this.currentUser = currentUser;
     }
+    
+    // Simulation ticks per second, independent of the 60 FPS render rate
+    public int getTickRate() {
+        return tickRate;
+    }
+    
+    public void setTickRate(int tickRate) {
+        this.tickRate = tickRate;
+    }
+    
+    // Simulate and render on separate threads, takes effect on the next game
+    public boolean isPipelinedRendering() {
+        return pipelinedRendering;
+    }
+    
+    public void setPipelinedRendering(boolean pipelinedRendering) {
+        this.pipelinedRendering = pipelinedRendering;
+    }
+    
+    // "Image", "Volatile" or "BufferStrategy", takes effect on the next game
+    public String getRenderBackend() {
+        return renderBackend;
+    }
+    
+    public void setRenderBackend(String renderBackend) {
+        this.renderBackend = renderBackend;
+    }
+    
+    // Pace frames to the monitor's refresh rate instead of a fixed 60 FPS
+    public boolean isLockToRefreshRate() {
+        return lockToRefreshRate;
+    }
+    
+    public void setLockToRefreshRate(boolean lockToRefreshRate) {
+        this.lockToRefreshRate = lockToRefreshRate;
+    }
+    
+    // Degrees between pre-rotated sprite frames, 0 rotates every draw instead
+    public int getSpriteRotationStep() {
+        return spriteRotationStep;
+    }
+    
+    public void setSpriteRotationStep(int spriteRotationStep) {
+        this.spriteRotationStep = spriteRotationStep;
+    }
+    
+    // Percent of the window resolution the game is drawn at before upscaling, 50-100
+    public int getRenderScale() {
+        return renderScale;
+    }
+    
+    public void setRenderScale(int renderScale) {
+        this.renderScale = renderScale;
+    }
+    
+    // Lower quality automatically while frames run over budget
+    public boolean isAdaptiveQuality() {
+        return adaptiveQuality;
+    }
+    
+    public void setAdaptiveQuality(boolean adaptiveQuality) {
+        this.adaptiveQuality = adaptiveQuality;
+    }
+    
+    // Write each game's input to a replay file, from the next game on
+    public boolean isRecordReplays() {
+        return recordReplays;
+    }
+    
+    public void setRecordReplays(boolean recordReplays) {
+        this.recordReplays = recordReplays;
+    }
+    
+    // "Clips" or "Mixer", takes effect on the next game
+    public String getSoundEngine() {
+        return soundEngine;
+    }
+    
+    public void setSoundEngine(String soundEngine) {
+        this.soundEngine = soundEngine;
+    }
 }
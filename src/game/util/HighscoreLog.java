@@ -0,0 +1,443 @@
+package game.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only binary log of every submitted score, read by HighscoreManager.
+ * <p>
+ * The header holds the magic "PGHS", a version byte and the number of
+ * records the last compaction kept. Each record after it is a big-endian int
+ * score, the long epoch millis it was set, and the player name as an
+ * unsigned short byte count followed by that many UTF-8 bytes. A submit only
+ * appends one record. Reading walks the file once in chunks copied to the
+ * heap, decoding a name only when asked for it; readTop() only asks when
+ * the score could still enter the top ten. Nothing maps the file, so on
+ * Windows it can still be replaced while a Cursor is open.
+ * <p>
+ * Records beaten by the same player's best pile up over time. Once they
+ * outnumber the rest, compact() rewrites the file with each player's best
+ * only, in the order those were set. A torn record left at the end by a
+ * crash is cut off when the log is opened.
+ */
+public class HighscoreLog implements Closeable {
+
+    public static final int MAGIC = 0x50474853; // "PGHS"
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 9;
+    // Score, millis and name length
+    private static final int RECORD_HEAD = 14;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+    private static final int SCAN_CHUNK = 64 * 1024;
+    // Holds the longest record
+    private static final int READ_CHUNK = 128 * 1024;
+    // Never compact a log smaller than this
+    private static final int COMPACT_MIN = 1024;
+
+    private final File file;
+    private FileChannel channel;
+    private long length;
+    private long records;
+    private long liveRecords;
+    // Bumped by clear() and prepend(), a compaction that started before it is thrown away
+    private int generation;
+
+    public HighscoreLog(File file) throws IOException {
+        this.file = file;
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE);
+        records = 0;
+        if (channel.size() == 0) {
+            writeHeader(0);
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (readFully(header, 0) < HEADER_SIZE || header.getInt(0) != MAGIC || header.get(4) != VERSION) {
+            channel.close();
+            throw new IOException("Not a highscore log: " + file);
+        }
+        liveRecords = header.getInt(5);
+        length = scan();
+        if (length < channel.size()) {
+            System.err.println("Dropping torn record at the end of " + file);
+            channel.truncate(length);
+        }
+    }
+
+    private void writeHeader(long live) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).put((byte) VERSION).putInt((int) live).flip();
+        writeFully(header, 0);
+        length = HEADER_SIZE;
+        liveRecords = live;
+    }
+
+    // Counts the whole records by their length fields, returns where they end
+    private long scan() throws IOException {
+        long size = channel.size();
+        ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK);
+        long chunkStart = 0;
+        int chunkLength = 0;
+        long pos = HEADER_SIZE;
+        while (pos + RECORD_HEAD <= size) {
+            if (pos + RECORD_HEAD > chunkStart + chunkLength) {
+                chunk.clear();
+                chunkStart = pos;
+                chunkLength = readFully(chunk, pos);
+            }
+            int nameLength = chunk.getShort((int) (pos - chunkStart) + 12) & 0xFFFF;
+            long end = pos + RECORD_HEAD + nameLength;
+            if (end > size) {
+                break;
+            }
+            pos = end;
+            records++;
+        }
+        return pos;
+    }
+
+    private int readFully(ByteBuffer buffer, long position) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position() - start);
+            if (n < 0) {
+                break;
+            }
+        }
+        return buffer.position() - start;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position() - start);
+        }
+    }
+
+    public synchronized void append(String playerName, int score, long time) throws IOException {
+        byte[] name = playerName.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Player name too long for the highscore log");
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEAD + name.length);
+        record.putInt(score).putLong(time).putShort((short) name.length).put(name).flip();
+        writeFully(record, length);
+        length += record.limit();
+        records++;
+    }
+
+    // Reads the records written so far, appends after this don't show up in
+    // it. Has its own channel, so it keeps the file it started on when the log
+    // is compacted or cleared meanwhile. Close it when done.
+    public synchronized Cursor read() throws IOException {
+        return new Cursor(FileChannel.open(file.toPath(), StandardOpenOption.READ), HEADER_SIZE, length);
+    }
+
+    // The best count players, highest first, each with the date of their best.
+    // Ties keep the order they were set in, like repeated addScore() calls.
+    public List<HighscoreManager.HighscoreEntry> readTop(int count) throws IOException {
+        List<HighscoreManager.HighscoreEntry> top = new ArrayList<>(count + 1);
+        try (Cursor cursor = read()) {
+            readTop(cursor, count, top);
+        }
+        return top;
+    }
+
+    private static void readTop(Cursor cursor, int count, List<HighscoreManager.HighscoreEntry> top) {
+        // Lowest score in a full list, only a higher one can change it
+        int threshold = Integer.MIN_VALUE;
+        while (cursor.next()) {
+            int score = cursor.getScore();
+            if (top.size() == count && score <= threshold) {
+                continue;
+            }
+            String name = cursor.getName();
+            HighscoreManager.HighscoreEntry entry = null;
+            for (HighscoreManager.HighscoreEntry e : top) {
+                if (e.getPlayerName().equals(name)) {
+                    entry = e;
+                    break;
+                }
+            }
+            if (entry != null) {
+                if (score > entry.getScore()) {
+                    entry.setScore(score);
+                    entry.setDate(new Date(cursor.getTime()));
+                }
+            } else {
+                top.add(new HighscoreManager.HighscoreEntry(name, score, new Date(cursor.getTime())));
+            }
+            // Stable, so equal scores keep their order
+            top.sort((a, b) -> Integer.compare(b.getScore(), a.getScore()));
+            if (top.size() > count) {
+                top.remove(count);
+            }
+            if (top.size() == count) {
+                threshold = top.get(count - 1).getScore();
+            }
+        }
+    }
+
+    // True once the records a compaction would drop outnumber the ones it keeps
+    public synchronized boolean needsCompaction() {
+        return records - liveRecords >= Math.max(COMPACT_MIN, liveRecords);
+    }
+
+    // Rewrites the log with each player's best record. Reads and writes
+    // without the lock, so appends carry on meanwhile and are copied over
+    // at the end. Meant for a background thread.
+    public void compact() throws IOException {
+        long end;
+        int startGeneration;
+        Cursor cursor;
+        synchronized (this) {
+            end = length;
+            startGeneration = generation;
+            cursor = read();
+        }
+        Map<String, Best> best = new HashMap<>();
+        try (Cursor in = cursor) {
+            long index = 0;
+            while (in.next()) {
+                String name = in.getName();
+                Best b = best.get(name);
+                if (b == null) {
+                    best.put(name, new Best(name, in.getScore(), in.getTime(), index));
+                } else if (in.getScore() > b.score) {
+                    b.score = in.getScore();
+                    b.time = in.getTime();
+                    b.index = index;
+                }
+                index++;
+            }
+        }
+        List<Best> kept = new ArrayList<>(best.values());
+        kept.sort((a, b) -> Long.compare(a.index, b.index));
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(kept.size());
+            for (Best b : kept) {
+                byte[] name = b.name.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(b.score);
+                out.writeLong(b.time);
+                out.writeShort(name.length);
+                out.write(name);
+            }
+        }
+
+        synchronized (this) {
+            if (generation != startGeneration) {
+                Files.deleteIfExists(temp.toPath());
+                return;
+            }
+            // Records appended while compacting
+            try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                long pos = end;
+                while (pos < length) {
+                    pos += channel.transferTo(pos, length - pos, out);
+                }
+            }
+            try {
+                replaceWith(temp);
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        }
+    }
+
+    // Writes the entries ahead of the records already here, through a temp
+    // file so a failure anywhere leaves the log as it was
+    public synchronized void prepend(List<HighscoreManager.HighscoreEntry> entries) throws IOException {
+        // A compaction that started before this would drop the entries
+        generation++;
+        File temp = new File(file.getPath() + ".migrating");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeInt((int) liveRecords);
+                for (HighscoreManager.HighscoreEntry entry : entries) {
+                    byte[] name = entry.getPlayerName().getBytes(StandardCharsets.UTF_8);
+                    if (name.length > MAX_NAME_BYTES) {
+                        throw new IllegalArgumentException("Player name too long for the highscore log");
+                    }
+                    out.writeInt(entry.getScore());
+                    out.writeLong(entry.getDate().getTime());
+                    out.writeShort(name.length);
+                    out.write(name);
+                }
+            }
+            try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                long pos = HEADER_SIZE;
+                while (pos < length) {
+                    pos += channel.transferTo(pos, length - pos, out);
+                }
+            }
+            replaceWith(temp);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    // Drops every record. Swaps in an empty file instead of truncating, so a
+    // Cursor still walking the old one keeps its records.
+    public synchronized void clear() throws IOException {
+        generation++;
+        File temp = new File(file.getPath() + ".clearing");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temp))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeInt(0);
+            }
+            replaceWith(temp);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    // Moves temp over the log and reopens it, the old file if the move fails
+    private void replaceWith(File temp) throws IOException {
+        channel.close();
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            open();
+        }
+    }
+
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    public synchronized long getSizeBytes() {
+        return length;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    // Walks records through its own channel, next() has to be called before
+    // the first one. Leaderboard.Source can't throw, so read errors come out
+    // of next() as UncheckedIOException.
+    public static final class Cursor implements Leaderboard.Source, Closeable {
+
+        private final FileChannel in;
+        private final ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK);
+        private final long end;
+        // File position of chunk's first byte
+        private long chunkStart;
+        private long at;
+        private int score;
+        private long time;
+        private int nameAt;
+        private int nameLength;
+
+        private Cursor(FileChannel in, long start, long end) {
+            this.in = in;
+            this.at = start;
+            this.end = end;
+            chunk.limit(0);
+        }
+
+        @Override
+        public boolean next() {
+            if (at >= end) {
+                return false;
+            }
+            int offset = fill(RECORD_HEAD);
+            score = chunk.getInt(offset);
+            time = chunk.getLong(offset + 4);
+            nameLength = chunk.getShort(offset + 12) & 0xFFFF;
+            nameAt = fill(RECORD_HEAD + nameLength) + RECORD_HEAD;
+            at += RECORD_HEAD + nameLength;
+            return true;
+        }
+
+        // Makes sure the count bytes at at are in chunk, returns their offset
+        private int fill(int count) {
+            int offset = (int) (at - chunkStart);
+            if (offset + count <= chunk.limit()) {
+                return offset;
+            }
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), end - at));
+            chunkStart = at;
+            try {
+                while (chunk.hasRemaining()) {
+                    if (in.read(chunk, chunkStart + chunk.position()) < 0) {
+                        throw new IOException("Highscore log ended early");
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            chunk.flip();
+            return 0;
+        }
+
+        @Override
+        public int getScore() {
+            return score;
+        }
+
+        // Epoch millis
+        @Override
+        public long getTime() {
+            return time;
+        }
+
+        // Decoded on each call, skip it for records you don't keep
+        @Override
+        public String getName() {
+            return new String(chunk.array(), nameAt, nameLength, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class Best {
+
+        private final String name;
+        private int score;
+        private long time;
+        private long index;
+
+        private Best(String name, int score, long time, long index) {
+            this.name = name;
+            this.score = score;
+            this.time = time;
+            this.index = index;
+        }
+    }
+}
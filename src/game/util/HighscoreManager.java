@@ -2,16 +2,37 @@ package game.util;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class HighscoreManager {
     private static HighscoreManager instance;
-    private List<HighscoreEntry> highscores;
-    private final String HIGHSCORE_FILE = "highscores.dat";
+    private final Leaderboard leaderboard = new Leaderboard();
+    private static final String HIGHSCORE_FILE = "highscores.log";
+    // Serialized list written by older versions, migrated into the log once
+    private static final String LEGACY_FILE = "highscores.dat";
     private final int MAX_ENTRIES = 10;
+    private HighscoreLog log;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    // The full ranking is built on a background thread at startup. Until it
+    // is, the top ten read up front answer the queries and submits queue up.
+    private volatile boolean indexed;
+    // Guarded by this, only used while !indexed
+    private List<HighscoreEntry> early = new ArrayList<>();
+    private final List<HighscoreEntry> pending = new ArrayList<>();
+    private boolean clearedEarly;
     
     private HighscoreManager() {
-        highscores = new ArrayList<>();
-        loadHighscores();
+        this(new File(HIGHSCORE_FILE), new File(LEGACY_FILE));
+    }
+    
+    // A manager of its own on logFile with no legacy file to migrate, for
+    // benchmarks that must not touch the game's log. Close it when done.
+    public HighscoreManager(File logFile) {
+        this(logFile, null);
+    }
+    
+    private HighscoreManager(File logFile, File legacyFile) {
+        loadHighscores(logFile, legacyFile);
     }
     
     public static synchronized HighscoreManager getInstance() {
@@ -22,100 +43,253 @@ public class HighscoreManager {
     }
     
     public void addScore(String playerName, int score) {
-        // Check if player already exists
-        HighscoreEntry existingEntry = null;
-        for (HighscoreEntry entry : highscores) {
-            if (entry.getPlayerName().equals(playerName)) {
-                existingEntry = entry;
-                break;
-            }
+        long now = System.currentTimeMillis();
+        if (!queueScore(playerName, score, now)) {
+            leaderboard.submit(playerName, score, now);
         }
-        
-        // If player exists and new score is higher, update it
-        if (existingEntry != null) {
-            if (score > existingEntry.getScore()) {
-                existingEntry.setScore(score);
-                existingEntry.setDate(new Date());
-            }
-        } else {
-            // Add new entry
-            highscores.add(new HighscoreEntry(playerName, score, new Date()));
-        }
-        
-        // Sort by score (descending)
-        Collections.sort(highscores, new Comparator<HighscoreEntry>() {
-            @Override
-            public int compare(HighscoreEntry a, HighscoreEntry b) {
-                return Integer.compare(b.getScore(), a.getScore());
-            }
-        });
-        
-        // Keep only top entries
-        if (highscores.size() > MAX_ENTRIES) {
-            highscores = highscores.subList(0, MAX_ENTRIES);
-        }
-        
-        saveHighscores();
+        appendScore(playerName, score, now);
     }
     
+    // The best MAX_ENTRIES players
     public List<HighscoreEntry> getHighscores() {
-        return new ArrayList<>(highscores);
+        if (!indexed) {
+            synchronized (this) {
+                if (!indexed) {
+                    return new ArrayList<>(early);
+                }
+            }
+        }
+        List<HighscoreEntry> highscores = new ArrayList<>();
+        for (Leaderboard.Entry entry : leaderboard.getTop(MAX_ENTRIES)) {
+            highscores.add(new HighscoreEntry(entry.getPlayerName(), entry.getScore(), new Date(entry.getTime())));
+        }
+        return highscores;
     }
     
+    // The HUD asks every frame. Before the ranking is built this only knows
+    // the top ten and this session's scores.
     public int getPlayerBestScore(String playerName) {
-        for (HighscoreEntry entry : highscores) {
-            if (entry.getPlayerName().equals(playerName)) {
-                return entry.getScore();
+        if (!indexed) {
+            synchronized (this) {
+                if (!indexed) {
+                    int best = 0;
+                    for (HighscoreEntry entry : early) {
+                        if (entry.getPlayerName().equals(playerName)) {
+                            best = entry.getScore();
+                        }
+                    }
+                    for (HighscoreEntry entry : pending) {
+                        if (entry.getPlayerName().equals(playerName)) {
+                            best = Math.max(best, entry.getScore());
+                        }
+                    }
+                    return best;
+                }
             }
         }
-        return 0;
+        return leaderboard.getBestScore(playerName);
     }
     
+    // Among everyone who ever played here, -1 if never played or while the
+    // ranking is still being built
     public int getPlayerRank(String playerName) {
-        for (int i = 0; i < highscores.size(); i++) {
-            if (highscores.get(i).getPlayerName().equals(playerName)) {
-                return i + 1;
+        return indexed ? leaderboard.getRank(playerName) : -1;
+    }
+    
+    public double getPlayerPercentile(String playerName) {
+        return indexed ? leaderboard.getPercentile(playerName) : -1;
+    }
+    
+    public int getPlayerCount() {
+        if (!indexed) {
+            synchronized (this) {
+                if (!indexed) {
+                    return early.size();
+                }
             }
         }
-        return -1; // Not in top list
+        return leaderboard.size();
     }
     
+    // The log goes first, if it can't be cleared the scores stay on screen
+    // rather than coming back on the next start
     public void clearAllScores() {
-        highscores.clear();
-        saveHighscores();
-        
-        // Also delete the file
-        File file = new File(HIGHSCORE_FILE);
-        if (file.exists()) {
-            file.delete();
+        if (log != null) {
+            try {
+                log.clear();
+            } catch (IOException e) {
+                System.err.println("Error clearing highscores: " + e.getMessage());
+                return;
+            }
+        }
+        synchronized (this) {
+            if (indexed) {
+                leaderboard.clear();
+            } else {
+                early.clear();
+                pending.clear();
+                clearedEarly = true;
+            }
         }
     }
     
-    private void loadHighscores() {
-        File file = new File(HIGHSCORE_FILE);
-        if (!file.exists()) {
+    // Only reads the top ten here, decoding every name and building the
+    // ranking is left to the "highscore-index" thread
+    private void loadHighscores(File logFile, File legacy) {
+        try {
+            log = new HighscoreLog(logFile);
+        } catch (IOException e) {
+            // Scores still work for this session, they just aren't kept
+            System.err.println("Error loading highscores: " + e.getMessage());
+            indexed = true;
             return;
         }
-        
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+        if (legacy != null && legacy.exists()) {
+            migrateLegacy(legacy);
+        }
+        HighscoreLog.Cursor cursor;
+        try {
+            early = log.readTop(MAX_ENTRIES);
+            // Opened now, so every later append is in pending instead
+            cursor = log.read();
+        } catch (IOException e) {
+            System.err.println("Error loading highscores: " + e.getMessage());
+            indexed = true;
+            return;
+        }
+        Thread thread = new Thread(() -> buildIndex(cursor), "highscore-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void buildIndex(HighscoreLog.Cursor cursor) {
+        try (HighscoreLog.Cursor in = cursor) {
+            leaderboard.load(in);
+        } catch (IOException | UncheckedIOException e) {
+            // Ranks only what was submitted this session
+            System.err.println("Error loading highscores: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                if (clearedEarly) {
+                    leaderboard.clear();
+                }
+                for (HighscoreEntry entry : pending) {
+                    leaderboard.submit(entry.getPlayerName(), entry.getScore(), entry.getDate().getTime());
+                }
+                pending.clear();
+                early = null;
+                indexed = true;
+            }
+        }
+        compactIfNeeded();
+    }
+    
+    // Holds a score for buildIndex() while it runs, false once the ranking
+    // takes submits itself
+    private boolean queueScore(String playerName, int score, long time) {
+        if (indexed) {
+            return false;
+        }
+        synchronized (this) {
+            if (indexed) {
+                return false;
+            }
+            HighscoreEntry entry = new HighscoreEntry(playerName, score, new Date(time));
+            pending.add(entry);
+            for (int i = 0; i < early.size(); i++) {
+                if (early.get(i).getPlayerName().equals(playerName)) {
+                    if (score <= early.get(i).getScore()) {
+                        return true;
+                    }
+                    early.remove(i);
+                    break;
+                }
+            }
+            // Behind equal scores, like a tie set later
+            int at = 0;
+            while (at < early.size() && early.get(at).getScore() >= score) {
+                at++;
+            }
+            if (at < MAX_ENTRIES) {
+                early.add(at, entry);
+                if (early.size() > MAX_ENTRIES) {
+                    early.remove(MAX_ENTRIES);
+                }
+            }
+            return true;
+        }
+    }
+    
+    // Puts the old serialized list ahead of the log's records and keeps the
+    // file as .bak. On failure the log is untouched and the file stays, so
+    // the next start tries again.
+    private void migrateLegacy(File legacy) {
+        List<HighscoreEntry> entries = new ArrayList<>();
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(legacy))) {
             Object obj = ois.readObject();
             if (obj instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<HighscoreEntry> loadedScores = (List<HighscoreEntry>) obj;
-                highscores = loadedScores;
+                for (Object o : (List<?>) obj) {
+                    entries.add((HighscoreEntry) o);
+                }
             }
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println("Error loading highscores: " + e.getMessage());
-            highscores = new ArrayList<>();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            System.err.println("Error migrating highscores: " + e.getMessage());
+            return;
+        }
+        try {
+            log.prepend(entries);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error migrating highscores: " + e.getMessage());
+            return;
+        }
+        if (!legacy.renameTo(new File(legacy.getPath() + ".bak"))) {
+            System.err.println("Could not rename " + legacy + " after migrating it");
         }
     }
     
-    private void saveHighscores() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(HIGHSCORE_FILE))) {
-            oos.writeObject(highscores);
+    // Waits out a running compaction and closes the log
+    public void close() {
+        while (compacting.get()) {
+            Thread.onSpinWait();
+        }
+        if (log == null) {
+            return;
+        }
+        try {
+            log.close();
         } catch (IOException e) {
-            System.err.println("Error saving highscores: " + e.getMessage());
+            System.err.println("Error closing highscores: " + e.getMessage());
+        }
+    }
+    
+    private void appendScore(String playerName, int score, long time) {
+        if (log == null) {
+            return;
+        }
+        try {
+            log.append(playerName, score, time);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error saving highscore: " + e.getMessage());
+            return;
+        }
+        compactIfNeeded();
+    }
+    
+    private void compactIfNeeded() {
+        if (!log.needsCompaction() || !compacting.compareAndSet(false, true)) {
+            return;
         }
+        Thread thread = new Thread(() -> {
+            try {
+                log.compact();
+            } catch (IOException e) {
+                System.err.println("Error compacting highscores: " + e.getMessage());
+            } finally {
+                compacting.set(false);
+            }
+        }, "highscore-compaction");
+        thread.setDaemon(true);
+        thread.start();
     }
     
     public static class HighscoreEntry implements Serializable {
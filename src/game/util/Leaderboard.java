@@ -0,0 +1,445 @@
+package game.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every player's best score, ranked. Higher scores come first, and of two
+ * equal scores the one set earlier.
+ * <p>
+ * The ranking is a B-tree whose inner nodes keep the running total of
+ * entries under each child, so rank, percentile and any page of the
+ * ranking cost one walk from the root. Nodes are never changed once
+ * built: a submit copies the nodes on its path and publishes the new root
+ * through a volatile field. Readers take the root once per query and never
+ * lock or wait, they just see the ranking as of some finished submit. A
+ * hash index maps each name to their best entry.
+ * <p>
+ * Submits are serialized among themselves. A player's old entry is removed
+ * when they beat it; nodes emptied that way are dropped but underfull ones
+ * are not merged, so the height only ever follows the largest the board
+ * has been.
+ */
+public class Leaderboard {
+
+    // Records in the order they were set, HighscoreLog.Cursor is one
+    public interface Source {
+
+        boolean next();
+
+        int getScore();
+
+        long getTime();
+
+        String getName();
+    }
+
+    public static final class Entry {
+
+        private final String playerName;
+        private final int score;
+        private final long time;
+        // Breaks ties, lower was set first
+        private final long order;
+
+        private Entry(String playerName, int score, long time, long order) {
+            this.playerName = playerName;
+            this.score = score;
+            this.time = time;
+            this.order = order;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        // Epoch millis
+        public long getTime() {
+            return time;
+        }
+
+        @Override
+        public String toString() {
+            return playerName + " - " + score;
+        }
+    }
+
+    private static final int MAX_KEYS = 64;
+    // Bulk loads leave room so the next submits don't split right away
+    private static final int LOAD_FILL = 48;
+
+    private volatile Map<String, Entry> byName = new ConcurrentHashMap<>();
+    private volatile Node root = Leaf.EMPTY;
+
+    //  Writer side, guarded by this
+    private long nextOrder;
+    private Node splitOff;
+
+    // Replaces the board with the best record of each player in source
+    public synchronized void load(Source source) {
+        Map<String, Entry> best = new ConcurrentHashMap<>();
+        long order = nextOrder;
+        while (source.next()) {
+            int score = source.getScore();
+            String name = source.getName();
+            Entry old = best.get(name);
+            if (old == null || score > old.score) {
+                best.put(name, new Entry(name, score, source.getTime(), order));
+            }
+            order++;
+        }
+        nextOrder = order;
+        Entry[] sorted = best.values().toArray(new Entry[0]);
+        Arrays.sort(sorted, (a, b) -> compare(a.score, a.order, b.score, b.order));
+        byName = best;
+        root = build(sorted);
+    }
+
+    // Leaves filled to LOAD_FILL, then each level of parents over them
+    private static Node build(Entry[] sorted) {
+        if (sorted.length == 0) {
+            return Leaf.EMPTY;
+        }
+        List<Node> level = new ArrayList<>();
+        for (int i = 0; i < sorted.length; i += LOAD_FILL) {
+            level.add(new Leaf(Arrays.copyOfRange(sorted, i, Math.min(sorted.length, i + LOAD_FILL))));
+        }
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>();
+            for (int i = 0; i < level.size(); i += LOAD_FILL) {
+                parents.add(new Inner(level.subList(i, Math.min(level.size(), i + LOAD_FILL)).toArray(new Node[0])));
+            }
+            level = parents;
+        }
+        return level.get(0);
+    }
+
+    // Records a score, returns false when the player already has one at least as high
+    public synchronized boolean submit(String playerName, int score, long time) {
+        Entry old = byName.get(playerName);
+        if (old != null && score <= old.score) {
+            return false;
+        }
+        Entry entry = new Entry(playerName, score, time, nextOrder++);
+        Node node = root;
+        if (old != null) {
+            node = delete(node, old);
+            while (node instanceof Inner && ((Inner) node).children.length == 1) {
+                node = ((Inner) node).children[0];
+            }
+            if (node == null) {
+                node = Leaf.EMPTY;
+            }
+        }
+        node = insert(node, entry);
+        if (splitOff != null) {
+            node = new Inner(new Node[]{node, splitOff});
+            splitOff = null;
+        }
+        // Tree first, a reader finding the new entry by name also finds it ranked
+        root = node;
+        byName.put(playerName, entry);
+        return true;
+    }
+
+    public synchronized void clear() {
+        byName = new ConcurrentHashMap<>();
+        root = Leaf.EMPTY;
+    }
+
+    // Ranked players
+    public int size() {
+        return root.size;
+    }
+
+    // Null if the player never scored
+    public Entry get(String playerName) {
+        return byName.get(playerName);
+    }
+
+    public int getBestScore(String playerName) {
+        Entry entry = byName.get(playerName);
+        return entry == null ? 0 : entry.score;
+    }
+
+    // 1 for the best player, -1 if the player never scored
+    public int getRank(String playerName) {
+        Entry entry = byName.get(playerName);
+        return entry == null ? -1 : countAhead(root, entry.score, entry.order) + 1;
+    }
+
+    // Share of ranked players this one is level with or ahead of, 100 for the
+    // best, -1 if the player never scored
+    public double getPercentile(String playerName) {
+        Node node = root;
+        Entry entry = byName.get(playerName);
+        if (entry == null || node.size == 0) {
+            return -1;
+        }
+        int rank = countAhead(node, entry.score, entry.order) + 1;
+        return 100.0 * (node.size - rank + 1) / node.size;
+    }
+
+    public List<Entry> getTop(int count) {
+        return getPage(0, count);
+    }
+
+    // Entries ranked offset + 1 to offset + count, fewer at the end
+    public List<Entry> getPage(int offset, int count) {
+        Node node = root;
+        int from = Math.max(0, offset);
+        int to = (int) Math.min(node.size, (long) from + Math.max(0, count));
+        List<Entry> page = new ArrayList<>(Math.max(0, to - from));
+        if (from < to) {
+            collect(node, from, to, page);
+        }
+        return page;
+    }
+
+    //  Tree
+
+    // Negative when a ranks ahead of b
+    private static int compare(int scoreA, long orderA, int scoreB, long orderB) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB ? -1 : 1;
+        }
+        return Long.compare(orderA, orderB);
+    }
+
+    private static int countAhead(Node node, int score, long order) {
+        int ahead = 0;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int i = inner.childFor(score, order);
+            if (i > 0) {
+                ahead += inner.ends[i - 1];
+            }
+            node = inner.children[i];
+        }
+        return ahead + ((Leaf) node).position(score, order);
+    }
+
+    // Adds the entries at [from, to) of node, counted from its first entry
+    private static void collect(Node node, int from, int to, List<Entry> out) {
+        if (node instanceof Leaf) {
+            Entry[] entries = ((Leaf) node).entries;
+            for (int i = from; i < to; i++) {
+                out.add(entries[i]);
+            }
+            return;
+        }
+        Inner inner = (Inner) node;
+        int i = inner.childAt(from);
+        while (i < inner.children.length) {
+            int start = i == 0 ? 0 : inner.ends[i - 1];
+            if (start >= to) {
+                break;
+            }
+            collect(inner.children[i], Math.max(from, start) - start, Math.min(to, inner.ends[i]) - start, out);
+            i++;
+        }
+    }
+
+    // Copies the path down to the entry's leaf, leaves a split sibling in splitOff
+    private Node insert(Node node, Entry entry) {
+        if (node instanceof Leaf) {
+            Entry[] old = ((Leaf) node).entries;
+            int pos = ((Leaf) node).position(entry.score, entry.order);
+            Entry[] entries = new Entry[old.length + 1];
+            System.arraycopy(old, 0, entries, 0, pos);
+            entries[pos] = entry;
+            System.arraycopy(old, pos, entries, pos + 1, old.length - pos);
+            if (entries.length <= MAX_KEYS) {
+                return new Leaf(entries);
+            }
+            int half = entries.length / 2;
+            splitOff = new Leaf(Arrays.copyOfRange(entries, half, entries.length));
+            return new Leaf(Arrays.copyOf(entries, half));
+        }
+        Inner inner = (Inner) node;
+        int i = inner.childFor(entry.score, entry.order);
+        Node child = insert(inner.children[i], entry);
+        Node sibling = splitOff;
+        splitOff = null;
+        Node[] old = inner.children;
+        Node[] children;
+        if (sibling == null) {
+            children = old.clone();
+            children[i] = child;
+        } else {
+            children = new Node[old.length + 1];
+            System.arraycopy(old, 0, children, 0, i);
+            children[i] = child;
+            children[i + 1] = sibling;
+            System.arraycopy(old, i + 1, children, i + 2, old.length - i - 1);
+        }
+        if (children.length <= MAX_KEYS) {
+            return new Inner(children);
+        }
+        int half = children.length / 2;
+        splitOff = new Inner(Arrays.copyOfRange(children, half, children.length));
+        return new Inner(Arrays.copyOf(children, half));
+    }
+
+    // Copies the path without the entry, null if node ends up empty
+    private static Node delete(Node node, Entry entry) {
+        if (node instanceof Leaf) {
+            Entry[] old = ((Leaf) node).entries;
+            int pos = ((Leaf) node).position(entry.score, entry.order);
+            if (pos == old.length || old[pos] != entry) {
+                return node;
+            }
+            if (old.length == 1) {
+                return null;
+            }
+            Entry[] entries = new Entry[old.length - 1];
+            System.arraycopy(old, 0, entries, 0, pos);
+            System.arraycopy(old, pos + 1, entries, pos, old.length - pos - 1);
+            return new Leaf(entries);
+        }
+        Inner inner = (Inner) node;
+        int i = inner.childFor(entry.score, entry.order);
+        Node child = delete(inner.children[i], entry);
+        if (child == inner.children[i]) {
+            return node;
+        }
+        Node[] old = inner.children;
+        Node[] children;
+        if (child != null) {
+            children = old.clone();
+            children[i] = child;
+        } else if (old.length == 1) {
+            return null;
+        } else {
+            children = new Node[old.length - 1];
+            System.arraycopy(old, 0, children, 0, i);
+            System.arraycopy(old, i + 1, children, i, old.length - i - 1);
+        }
+        return new Inner(children);
+    }
+
+    private abstract static class Node {
+
+        final int size;
+
+        Node(int size) {
+            this.size = size;
+        }
+
+        abstract Entry first();
+    }
+
+    private static final class Leaf extends Node {
+
+        static final Leaf EMPTY = new Leaf(new Entry[0]);
+
+        final Entry[] entries;
+
+        Leaf(Entry[] entries) {
+            super(entries.length);
+            this.entries = entries;
+        }
+
+        @Override
+        Entry first() {
+            return entries[0];
+        }
+
+        // Entries ranked ahead of the key
+        int position(int score, long order) {
+            int lo = 0;
+            int hi = entries.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                Entry e = entries[mid];
+                if (compare(e.score, e.order, score, order) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    private static final class Inner extends Node {
+
+        final Node[] children;
+        // First key of each child, kept flat so routing doesn't chase pointers
+        final int[] lowScores;
+        final long[] lowOrders;
+        // Entries in children 0..i
+        final int[] ends;
+        final Entry first;
+
+        Inner(Node[] children) {
+            super(total(children));
+            this.children = children;
+            int n = children.length;
+            lowScores = new int[n];
+            lowOrders = new long[n];
+            ends = new int[n];
+            int sum = 0;
+            for (int i = 0; i < n; i++) {
+                Entry low = children[i].first();
+                lowScores[i] = low.score;
+                lowOrders[i] = low.order;
+                sum += children[i].size;
+                ends[i] = sum;
+            }
+            first = children[0].first();
+        }
+
+        private static int total(Node[] children) {
+            int sum = 0;
+            for (Node child : children) {
+                sum += child.size;
+            }
+            return sum;
+        }
+
+        @Override
+        Entry first() {
+            return first;
+        }
+
+        // Last child whose first key is not behind the key, 0 if all are
+        int childFor(int score, long order) {
+            int lo = 1;
+            int hi = children.length - 1;
+            int found = 0;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(lowScores[mid], lowOrders[mid], score, order) <= 0) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        // Child holding the entry at index, counted from this node's first
+        int childAt(int index) {
+            int lo = 0;
+            int hi = children.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ends[mid] > index) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+    }
+}
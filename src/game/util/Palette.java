@@ -0,0 +1,57 @@
+package game.util;
+
+import java.awt.Color;
+
+/**
+ * Colors used while drawing a frame, built once so the render path never
+ * allocates one. Colors whose alpha or value changes at runtime come from
+ * pre-built ramps indexed by that 0-255 component.
+ */
+public final class Palette {
+
+    public static final Color GOLD = new Color(255, 215, 0);
+    public static final Color GOLD_GLOW = new Color(255, 215, 0, 100);
+    public static final Color GOLD_BORDER = new Color(255, 215, 0, 80);
+    public static final Color HP_BACKGROUND = new Color(70, 70, 70);
+    public static final Color HP_FILL = new Color(253, 91, 91);
+    public static final Color PAUSE_SHADE = new Color(0, 0, 0, 180);
+    public static final Color BUTTON_FILL = new Color(60, 60, 60);
+    public static final Color BUTTON_BORDER = new Color(120, 120, 120);
+
+    private static final Color[] GRAYS = new Color[256];
+    private static final Color[] BLACK_ALPHA = new Color[256];
+    private static final Color[] WHITE_ALPHA = new Color[256];
+    private static final Color[] GOLD_ALPHA = new Color[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            GRAYS[i] = new Color(i, i, i);
+            BLACK_ALPHA[i] = new Color(0, 0, 0, i);
+            WHITE_ALPHA[i] = new Color(255, 255, 255, i);
+            GOLD_ALPHA[i] = new Color(255, 215, 0, i);
+        }
+    }
+
+    private Palette() {
+    }
+
+    public static Color gray(int value) {
+        return GRAYS[clamp(value)];
+    }
+
+    public static Color black(int alpha) {
+        return BLACK_ALPHA[clamp(alpha)];
+    }
+
+    public static Color white(int alpha) {
+        return WHITE_ALPHA[clamp(alpha)];
+    }
+
+    public static Color gold(int alpha) {
+        return GOLD_ALPHA[clamp(alpha)];
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}